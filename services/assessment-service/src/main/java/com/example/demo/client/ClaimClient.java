@@ -11,11 +11,12 @@ import org.springframework.web.reactive.function.client.WebClient;
 public class ClaimClient {
 
     private final WebClient webClient;
+    private final ClaimWorkflowRules workflowRules;
 
     @Value("${claim.base-url}")
     private String claimBaseUrl;
 
-    // ✅ Validate claim exists and is UNDER_REVIEW
+    // ✅ Validate claim exists and is awaiting a decision (UNDER_REVIEW)
     public ClaimResponseDTO validateClaimUnderReview(Long claimId) {
 
         ClaimResponseDTO claim = webClient.get()
@@ -28,7 +29,10 @@ public class ClaimClient {
             throw new RuntimeException("Claim not found: " + claimId);
         }
 
-        if (!"UNDER_REVIEW".equalsIgnoreCase(claim.getStatus())) {
+        String status = claim.getStatus() == null ? null : claim.getStatus().toUpperCase();
+
+        if (!workflowRules.canTransition(status, "APPROVED")
+                || !workflowRules.canTransition(status, "REJECTED")) {
             throw new RuntimeException(
                     "Claim not in UNDER_REVIEW state. Current: " + claim.getStatus()
             );
@@ -0,0 +1,98 @@
+package com.example.demo.client;
+
+import com.example.demo.dto.ClaimWorkflowDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Client copy of the claim lifecycle owned by claim-service
+ * ({@code ClaimStateMachine}, published at GET /claims/workflow), so status
+ * checks here follow the same transition table instead of hard-coded
+ * strings.
+ *
+ * payment-, document- and assessment-service carry this same class; only
+ * the package, the DTO and {@link #fetch()} differ. Change the three
+ * together, and keep BUILT_IN equal to {@code ClaimStateMachine.CLAIMS}.
+ *
+ * Refreshed in the background, so no request waits on claim-service: polled
+ * until the first fetch lands, then once per refresh interval. Until then,
+ * or while claim-service is unreachable, the last good copy is used.
+ */
+@Slf4j
+@Component
+public class ClaimWorkflowRules {
+
+    private static final Map<String, Set<String>> BUILT_IN = Map.of(
+            "SUBMITTED", Set.of("UNDER_REVIEW"),
+            "UNDER_REVIEW", Set.of("APPROVED", "REJECTED"),
+            "APPROVED", Set.of("SETTLED"),
+            "REJECTED", Set.of(),
+            "SETTLED", Set.of());
+
+    private final WebClient webClient;
+    private final String claimBaseUrl;
+    private final long refreshIntervalMs;
+
+    private volatile Map<String, Set<String>> transitions = BUILT_IN;
+    private volatile long lastRefreshAt;
+    private volatile boolean loaded;
+
+    public ClaimWorkflowRules(WebClient webClient,
+                              @Value("${claim.base-url}") String claimBaseUrl,
+                              @Value("${claim.workflow-refresh-interval-ms:300000}") long refreshIntervalMs) {
+        this.webClient = webClient;
+        this.claimBaseUrl = claimBaseUrl;
+        this.refreshIntervalMs = refreshIntervalMs;
+    }
+
+    @Scheduled(fixedDelayString = "${claim.workflow-poll-interval-ms:10000}")
+    public void tick() {
+        if (!loaded || System.currentTimeMillis() - lastRefreshAt >= refreshIntervalMs)
+            refresh();
+    }
+
+    private void refresh() {
+        try {
+            Map<String, List<String>> published = fetch();
+            if (published == null)
+                return;
+
+            transitions = published.entrySet().stream()
+                    .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, e -> Set.copyOf(e.getValue())));
+            loaded = true;
+            lastRefreshAt = System.currentTimeMillis();
+        } catch (Exception e) {
+            log.warn("Claim workflow fetch failed, keeping current copy: {}", e.getMessage());
+        }
+    }
+
+    /* The service-specific part: the published transitions, or null */
+    private Map<String, List<String>> fetch() {
+        ClaimWorkflowDTO def = webClient.get()
+                .uri(claimBaseUrl + "/claims/workflow")
+                .retrieve()
+                .bodyToMono(ClaimWorkflowDTO.class)
+                .block();
+        return def == null ? null : def.getTransitions();
+    }
+
+    // A claim without a status can move nowhere (immutable maps reject null keys)
+    public boolean canTransition(String from, String to) {
+        Set<String> targets = from == null ? null : transitions.get(from);
+        return targets != null && targets.contains(to);
+    }
+
+    // Unknown statuses are not terminal; the claim lookup already vouched for them
+    public boolean isTerminal(String status) {
+        Set<String> targets = status == null ? null : transitions.get(status);
+        return targets != null && targets.isEmpty();
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.demo.dto;
+
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+public class ClaimWorkflowDTO {
+
+    private String initial;
+    private Map<String, List<String>> transitions;
+    private List<String> terminal;
+}
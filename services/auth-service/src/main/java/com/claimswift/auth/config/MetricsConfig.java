@@ -0,0 +1,139 @@
+package com.claimswift.auth.config;
+
+import com.claimswift.auth.service.JwtClaimsCache;
+import com.claimswift.auth.service.LoginAuditWriter;
+import com.claimswift.auth.service.LoginRateLimiter;
+import com.claimswift.auth.service.MailOutboxRelay;
+import com.claimswift.auth.service.PasswordHashingService;
+import com.claimswift.auth.service.TokenBlacklistService;
+import com.claimswift.auth.service.UserSnapshotCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class MetricsConfig {
+
+    /* ================= JWT CLAIMS CACHE ================= */
+    @Bean
+    public MeterBinder jwtClaimsCacheMetrics(JwtClaimsCache cache) {
+        return registry -> {
+            FunctionCounter.builder("auth.jwt.claims.cache", cache, JwtClaimsCache::hitCount)
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("auth.jwt.claims.cache", cache, JwtClaimsCache::missCount)
+                    .tag("result", "miss")
+                    .register(registry);
+            Gauge.builder("auth.jwt.claims.cache.size", cache, JwtClaimsCache::size)
+                    .register(registry);
+        };
+    }
+
+    /* ================= USER CACHE ================= */
+    @Bean
+    public MeterBinder userSnapshotCacheMetrics(UserSnapshotCache cache) {
+        return registry -> {
+            FunctionCounter.builder("auth.user.cache", cache, UserSnapshotCache::hitCount)
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("auth.user.cache", cache, UserSnapshotCache::missCount)
+                    .tag("result", "miss")
+                    .register(registry);
+            Gauge.builder("auth.user.cache.size", cache, UserSnapshotCache::size)
+                    .register(registry);
+        };
+    }
+
+    /* ================= TOKEN BLACKLIST ================= */
+    @Bean
+    public MeterBinder tokenBlacklistMetrics(TokenBlacklistService blacklist) {
+        return registry -> {
+            Gauge.builder("auth.token.blacklist.size", blacklist, TokenBlacklistService::size)
+                    .register(registry);
+            FunctionCounter.builder("auth.token.blacklist.lookups", blacklist,
+                            TokenBlacklistService::bloomNegativeCount)
+                    .tag("path", "bloom")
+                    .register(registry);
+            FunctionCounter.builder("auth.token.blacklist.lookups", blacklist,
+                            TokenBlacklistService::exactLookupCount)
+                    .tag("path", "exact")
+                    .register(registry);
+        };
+    }
+
+    /* ================= MAIL OUTBOX ================= */
+    @Bean
+    public MeterBinder mailOutboxMetrics(MailOutboxRelay relay) {
+        return registry -> {
+            FunctionCounter.builder("auth.mail.outbox", relay, MailOutboxRelay::sentCount)
+                    .tag("result", "sent")
+                    .register(registry);
+            FunctionCounter.builder("auth.mail.outbox", relay, MailOutboxRelay::failedCount)
+                    .tag("result", "failed")
+                    .register(registry);
+            FunctionCounter.builder("auth.mail.outbox", relay, MailOutboxRelay::deadLetterCount)
+                    .tag("result", "dead")
+                    .register(registry);
+        };
+    }
+
+    /* ================= LOGIN AUDIT ================= */
+    @Bean
+    public MeterBinder loginAuditMetrics(LoginAuditWriter writer) {
+        return registry -> {
+            Gauge.builder("auth.audit.buffered", writer, LoginAuditWriter::bufferedCount)
+                    .register(registry);
+            FunctionCounter.builder("auth.audit.records", writer, LoginAuditWriter::writtenCount)
+                    .tag("result", "written")
+                    .register(registry);
+            FunctionCounter.builder("auth.audit.records", writer, LoginAuditWriter::droppedCount)
+                    .tag("result", "dropped")
+                    .register(registry);
+        };
+    }
+
+    /* ================= RATE LIMITING ================= */
+    @Bean
+    public MeterBinder rateLimitMetrics(LoginRateLimiter limiter) {
+        return registry -> {
+            FunctionCounter.builder("auth.ratelimit.rejected", limiter,
+                            LoginRateLimiter::ipRejectionCount)
+                    .tag("key", "ip")
+                    .register(registry);
+            FunctionCounter.builder("auth.ratelimit.rejected", limiter,
+                            LoginRateLimiter::usernameRejectionCount)
+                    .tag("key", "username")
+                    .register(registry);
+            Gauge.builder("auth.ratelimit.buckets", limiter, LoginRateLimiter::trackedIpCount)
+                    .tag("key", "ip")
+                    .register(registry);
+            Gauge.builder("auth.ratelimit.buckets", limiter, LoginRateLimiter::trackedUsernameCount)
+                    .tag("key", "username")
+                    .register(registry);
+        };
+    }
+
+    /* ================= PASSWORD HASHING ================= */
+    @Bean
+    public MeterBinder passwordHashingMetrics(PasswordHashingService hasher) {
+        return registry -> {
+            Gauge.builder("auth.hashing.queue.depth", hasher, PasswordHashingService::queueDepth)
+                    .register(registry);
+            Gauge.builder("auth.hashing.active", hasher, PasswordHashingService::activeCount)
+                    .register(registry);
+            FunctionTimer.builder("auth.hashing.latency", hasher,
+                            PasswordHashingService::hashCount,
+                            PasswordHashingService::hashTimeNanos,
+                            TimeUnit.NANOSECONDS)
+                    .register(registry);
+            FunctionCounter.builder("auth.hashing.rejected", hasher,
+                            PasswordHashingService::rejectionCount)
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,68 @@
+package com.claimswift.auth.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.*;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.claimswift.auth.service.LoginRateLimiter;
+
+import java.io.IOException;
+import java.util.Set;
+
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final LoginRateLimiter rateLimiter;
+    private final boolean trustForwardedFor;
+
+    public RateLimitFilter(LoginRateLimiter rateLimiter,
+                           @Value("${auth.rate-limit.trust-forwarded-for:false}") boolean trustForwardedFor) {
+        this.rateLimiter = rateLimiter;
+        this.trustForwardedFor = trustForwardedFor;
+    }
+
+    /* Endpoints that take credentials; token introspection is service-to-service traffic */
+    private static final Set<String> CREDENTIAL_PATHS =
+            Set.of("/auth/login", "/auth/register", "/auth/verify-mfa");
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !CREDENTIAL_PATHS.contains(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+
+        if (!rateLimiter.allowIp(clientIp(request))) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader("Retry-After", "1");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"error\":\"Too many requests, please slow down\"}");
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    /* X-Forwarded-For is only honoured behind a gateway that overwrites it */
+    private String clientIp(HttpServletRequest request) {
+
+        if (trustForwardedFor) {
+            String forwarded = request.getHeader("X-Forwarded-For");
+            if (forwarded != null && !forwarded.isBlank()) {
+                int comma = forwarded.indexOf(',');
+                return (comma < 0 ? forwarded : forwarded.substring(0, comma)).trim();
+            }
+        }
+
+        return request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,24 @@
+package com.claimswift.auth.controller;
+
+import com.claimswift.auth.entity.LoginAudit;
+import com.claimswift.auth.service.LoginAuditWriter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/admin/audit")
+@RequiredArgsConstructor
+public class AuditController {
+
+    private final LoginAuditWriter auditWriter;
+
+    /* Newest first; served from memory, no DB round trip */
+    @GetMapping("/failures/{username}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public List<LoginAudit> recentFailures(@PathVariable String username) {
+        return auditWriter.recentFailures(username);
+    }
+}
@@ -3,6 +3,7 @@ package com.claimswift.auth.controller;
 import com.claimswift.auth.dto.*;
 import com.claimswift.auth.exception.InvalidTokenException;
 import com.claimswift.auth.service.AuthService;
+import com.claimswift.auth.service.LoginRateLimiter;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
@@ -16,6 +17,7 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController {
 
     private final AuthService service;
+    private final LoginRateLimiter rateLimiter;
 
     @PostMapping("/register")
     public AuthResponse register(@Valid @RequestBody RegisterRequest req){
@@ -24,19 +26,28 @@ public class AuthController {
 
     @PostMapping("/login")
     public LoginResponse login(@Valid @RequestBody LoginRequest req){
+        // Ahead of the transactional service, so a throttled caller never takes a connection
+        rateLimiter.checkUsername(req.getUsername());
         return service.login(req);
     }
 
     @PostMapping("/verify-mfa")
     public AuthResponse verify(@Valid @RequestBody MfaVerifyRequest req){
+        rateLimiter.checkUsername(req.getUsername());
         return service.verifyMfa(req);
     }
 
+    @PostMapping("/refresh")
+    public AuthResponse refresh(@Valid @RequestBody RefreshRequest req) throws InvalidTokenException {
+        return service.refresh(req);
+    }
+
     @PostMapping("/logout")
     public ResponseEntity<?> logout(
-            @RequestHeader(value="Authorization", required=false) String header){
+            @RequestHeader(value="Authorization", required=false) String header,
+            @RequestBody(required=false) RefreshRequest body){
 
-        service.logout(header);
+        service.logout(header, body == null ? null : body.getRefreshToken());
         return ResponseEntity.ok("Logged out");
     }
 
@@ -0,0 +1,27 @@
+package com.claimswift.auth.controller;
+
+import com.claimswift.auth.service.SigningKeyStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@RestController
+@RequestMapping("/auth")
+@RequiredArgsConstructor
+public class KeySetController {
+
+    private final SigningKeyStore keyStore;
+
+    /* Verifiers fetch this once and refresh it in the background */
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, List<Map<String, Object>>>> jwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(5, TimeUnit.MINUTES))
+                .body(Map.of("keys", keyStore.jwks()));
+    }
+}
@@ -1,10 +1,15 @@
 package com.claimswift.auth.controller;
 
+import com.claimswift.auth.dto.AuthValidationResponse;
+import com.claimswift.auth.dto.BatchValidationRequest;
+import com.claimswift.auth.dto.RevocationFeedResponse;
 import com.claimswift.auth.service.JwtService;
 import com.claimswift.auth.service.TokenBlacklistService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -15,24 +20,66 @@ public class TokenValidationController {
     private final JwtService jwtService;
     private final TokenBlacklistService blacklistService;
 
+    /* Below this a batch is checked on the request thread; forking costs more than it saves */
+    private static final int PARALLEL_THRESHOLD = 32;
+
     @PostMapping("/validate")
     public Map<String,Object> validate(@RequestHeader("Authorization") String header){
 
         if(header == null || !header.startsWith("Bearer "))
             return Map.of("valid", false);
 
-        String token = header.substring(7);
-
-        if(blacklistService.isBlacklisted(token))
-            return Map.of("valid", false);
+        AuthValidationResponse result = introspect(header.substring(7));
 
-        if(!jwtService.isValid(token))
+        if(!result.isValid())
             return Map.of("valid", false);
 
         return Map.of(
                 "valid", true,
-                "username", jwtService.extractUsername(token),
-                "roles", jwtService.extractRoles(token)
+                "username", result.getUsername(),
+                "roles", result.getRoles()
+        );
+    }
+
+    /* One result per token, in request order */
+    @PostMapping("/validate/batch")
+    public List<AuthValidationResponse> validateBatch(
+            @Valid @RequestBody BatchValidationRequest request){
+
+        List<String> tokens = request.getTokens();
+
+        if(tokens.size() < PARALLEL_THRESHOLD)
+            return tokens.stream().map(this::introspectRaw).toList();
+
+        // Checks are CPU-only (Bloom filter, HMAC, claims cache), so the common pool fits
+        return tokens.parallelStream().map(this::introspectRaw).toList();
+    }
+
+    /* Lets other services replicate the revocation set and verify locally */
+    @GetMapping("/revocations")
+    public RevocationFeedResponse revocations(
+            @RequestParam(defaultValue = "0") long after){
+
+        return blacklistService.revokedSince(after);
+    }
+
+    private AuthValidationResponse introspectRaw(String raw){
+
+        if(raw == null)
+            return new AuthValidationResponse(false, null, null);
+
+        return introspect(raw.startsWith("Bearer ") ? raw.substring(7) : raw);
+    }
+
+    private AuthValidationResponse introspect(String token){
+
+        if(blacklistService.isBlacklisted(token) || !jwtService.isValid(token))
+            return new AuthValidationResponse(false, null, null);
+
+        return new AuthValidationResponse(
+                true,
+                jwtService.extractUsername(token),
+                jwtService.extractRoles(token)
         );
     }
 }
\ No newline at end of file
@@ -16,8 +16,13 @@ public class AuthResponse {
     private String username;
     private List<String> roles;
     private String token;
+    private String refreshToken;
     
     public AuthResponse(String token) {
         this.token = token;
     }
+
+    public AuthResponse(String message, String username, List<String> roles, String token) {
+        this(message, username, roles, token, null);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.claimswift.auth.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchValidationRequest {
+
+    // Raw tokens; a "Bearer " prefix is accepted and stripped
+    @NotEmpty(message="At least one token required")
+    @Size(max=500, message="At most 500 tokens per batch")
+    private List<String> tokens;
+}
@@ -10,4 +10,9 @@ import lombok.NoArgsConstructor;
 public class LoginResponse {
     private String message;
     private boolean mfaRequired;
+    private String refreshToken;
+
+    public LoginResponse(String message, boolean mfaRequired) {
+        this(message, mfaRequired, null);
+    }
 }
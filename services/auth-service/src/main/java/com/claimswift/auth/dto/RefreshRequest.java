@@ -0,0 +1,13 @@
+package com.claimswift.auth.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshRequest {
+
+    @NotBlank(message="Refresh token required")
+    private String refreshToken;
+}
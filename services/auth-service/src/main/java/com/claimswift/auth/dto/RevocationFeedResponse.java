@@ -0,0 +1,33 @@
+package com.claimswift.auth.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevocationFeedResponse {
+
+    // Changes whenever the revocation log restarts, so followers know to resync
+    private String epoch;
+
+    // Sequence of the last entry in this page; pass it back as "after"
+    private long sequence;
+
+    private List<Entry> revocations;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Entry {
+
+        // SHA-256 (hex) of the revoked token
+        private String digest;
+
+        // Token expiry (epoch millis); the entry can be dropped after this
+        private long expiresAt;
+    }
+}
@@ -0,0 +1,46 @@
+package com.claimswift.auth.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * One issued refresh token. Only its SHA-256 is stored.
+ *
+ * Every rotation adds a row to the same family and marks the presented one
+ * used; presenting a used token again means it was copied, and the whole
+ * family is dropped.
+ */
+@Entity
+@Table(name = "refresh_tokens", indexes = {
+        @Index(name = "idx_refresh_token_hash", columnList = "token_hash", unique = true),
+        @Index(name = "idx_refresh_family", columnList = "family_id"),
+        @Index(name = "idx_refresh_expires_at", columnList = "expires_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /* Hex SHA-256 of the opaque token */
+    @Column(name = "token_hash", nullable = false, length = 64)
+    private String tokenHash;
+
+    @Column(name = "family_id", nullable = false, length = 32)
+    private String familyId;
+
+    @Column(nullable = false)
+    private String username;
+
+    /* Epoch millis */
+    @Column(name = "expires_at", nullable = false)
+    private long expiresAt;
+
+    @Column(nullable = false)
+    private boolean used;
+}
@@ -0,0 +1,43 @@
+package com.claimswift.auth.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row of the append-only revocation log shared by all auth-service nodes.
+ * The generated id is the log position; rows are only ever deleted once the
+ * token they revoke has expired.
+ */
+@Entity
+@Table(name = "revoked_tokens", indexes = {
+        @Index(name = "idx_revoked_digest", columnList = "digest", unique = true),
+        @Index(name = "idx_revoked_expires_at", columnList = "expires_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RevokedToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /* Hex SHA-256 of the token, never the token itself */
+    @Column(nullable = false, length = 64)
+    private String digest;
+
+    /* RevocationBloomFilter.hash of the token, so peers can fill their filters */
+    @Column(name = "bloom_key", nullable = false)
+    private long bloomKey;
+
+    /* Epoch millis of the token's exp claim */
+    @Column(name = "expires_at", nullable = false)
+    private long expiresAt;
+
+    @Column(name = "revoked_at", nullable = false)
+    private LocalDateTime revokedAt;
+}
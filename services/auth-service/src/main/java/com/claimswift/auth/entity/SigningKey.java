@@ -0,0 +1,46 @@
+package com.claimswift.auth.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * RSA key pair used to sign access tokens, shared by all auth-service nodes.
+ * Keys are published before they start signing and kept until every token
+ * they signed has expired.
+ */
+@Entity
+@Table(name = "signing_keys")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SigningKey {
+
+    /* Sent as the JWT "kid" header */
+    @Id
+    @Column(length = 64)
+    private String kid;
+
+    /* Base64 X.509 SubjectPublicKeyInfo */
+    @Lob
+    @Column(name = "public_key", nullable = false)
+    private String publicKey;
+
+    /* Base64 PKCS#8, sealed with the configured KEK */
+    @Lob
+    @Column(name = "private_key", nullable = false)
+    private String privateKey;
+
+    /* Epoch millis */
+    @Column(name = "created_at", nullable = false)
+    private long createdAt;
+
+    /* Epoch millis from which this key signs new tokens */
+    @Column(name = "activates_at", nullable = false)
+    private long activatesAt;
+
+    /* One key per rotation period; the unique index settles a rotation race between nodes */
+    @Column(name = "rotation_slot", unique = true)
+    private Long rotationSlot;
+}
@@ -45,6 +45,29 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
     }
 
+    // 401 → Bad, expired or reused token
+    @ExceptionHandler(InvalidTokenException.class)
+    public ResponseEntity<Map<String,String>> handleInvalidToken(InvalidTokenException ex) {
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(Map.of("error", "Invalid or expired token"));
+    }
+
+    // 503 → Hashing pool saturated, client should back off
+    @ExceptionHandler(HashingCapacityException.class)
+    public ResponseEntity<Map<String,String>> handleHashingCapacity(HashingCapacityException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Retry-After", "1")
+                .body(Map.of("error", ex.getMessage()));
+    }
+
+    // 429 → Too many attempts for this username
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<Map<String,String>> handleRateLimit(RateLimitExceededException ex) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header("Retry-After", "5")
+                .body(Map.of("error", ex.getMessage()));
+    }
+
     // 400 → Validation errors for @Valid
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String,String>> handleValidation(MethodArgumentNotValidException ex) {
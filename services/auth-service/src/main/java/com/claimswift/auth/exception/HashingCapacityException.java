@@ -0,0 +1,12 @@
+package com.claimswift.auth.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE) // 503
+public class HashingCapacityException extends RuntimeException {
+
+    public HashingCapacityException() {
+        super("Authentication is busy, please retry shortly");
+    }
+}
@@ -0,0 +1,12 @@
+package com.claimswift.auth.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS) // 429
+public class RateLimitExceededException extends RuntimeException {
+
+    public RateLimitExceededException() {
+        super("Too many requests, please slow down");
+    }
+}
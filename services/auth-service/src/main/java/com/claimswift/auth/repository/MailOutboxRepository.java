@@ -0,0 +1,35 @@
+package com.claimswift.auth.repository;
+
+import com.claimswift.auth.entity.MailOutbox;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface MailOutboxRepository extends JpaRepository<MailOutbox, Long> {
+
+    // Due mails, locked with SKIP LOCKED so several nodes can relay side by side
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select m from MailOutbox m where m.status = :status and m.nextAttemptAt <= :now order by m.id")
+    List<MailOutbox> claimDue(@Param("status") MailOutbox.Status status,
+                              @Param("now") LocalDateTime now,
+                              Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("delete from MailOutbox m where m.status <> :pending and m.createdAt < :before")
+    int deleteFinishedBefore(@Param("pending") MailOutbox.Status pending,
+                             @Param("before") LocalDateTime before);
+}
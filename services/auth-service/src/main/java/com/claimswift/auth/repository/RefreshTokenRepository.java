@@ -0,0 +1,31 @@
+package com.claimswift.auth.repository;
+
+import com.claimswift.auth.entity.RefreshToken;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    // Conditional, so two concurrent rotations of one token cannot both win
+    @Modifying
+    @Query("update RefreshToken r set r.used = true where r.id = :id and r.used = false")
+    int markUsed(@Param("id") Long id);
+
+    @Modifying
+    @Query("delete from RefreshToken r where r.familyId = :familyId")
+    int deleteFamily(@Param("familyId") String familyId);
+
+    @Transactional
+    @Modifying
+    @Query("delete from RefreshToken r where r.expiresAt <= :now")
+    int deleteExpired(@Param("now") long now);
+}
@@ -0,0 +1,32 @@
+package com.claimswift.auth.repository;
+
+import com.claimswift.auth.entity.RevokedToken;
+import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, Long> {
+
+    // Tail of the log after the last applied position
+    List<RevokedToken> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    // Compacted snapshot: only revocations that still matter
+    List<RevokedToken> findByExpiresAtGreaterThanOrderByIdAsc(long now);
+
+    boolean existsByDigest(String digest);
+
+    @Query("select coalesce(max(r.id), 0) from RevokedToken r")
+    long maxId();
+
+    @Transactional
+    @Modifying
+    @Query("delete from RevokedToken r where r.expiresAt <= :now")
+    int deleteExpired(@Param("now") long now);
+}
@@ -1,9 +1,15 @@
 package com.claimswift.auth.repository;
 
 import com.claimswift.auth.entity.User;
+import jakarta.transaction.Transactional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Date;
 import java.util.Optional;
 
 @Repository
@@ -17,4 +23,31 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     // Optional: find by email if needed
     Optional<User> findByEmail(String email);
+
+    // Targeted updates, so the login path never has to load and merge the entity.
+    // Each is its own short transaction: login runs outside one while BCrypt works
+    @Transactional
+    @Modifying
+    @Query("update User u set u.failedAttempts = :attempts, u.accountNonLocked = :nonLocked, "
+            + "u.lockTime = :lockTime where u.username = :username")
+    int updateLockState(@Param("username") String username,
+                        @Param("attempts") int attempts,
+                        @Param("nonLocked") boolean nonLocked,
+                        @Param("lockTime") Date lockTime);
+
+    @Transactional
+    @Modifying
+    @Query("update User u set u.otpHash = :otpHash, u.otpExpiry = :otpExpiry where u.username = :username")
+    int updateOtp(@Param("username") String username,
+                  @Param("otpHash") String otpHash,
+                  @Param("otpExpiry") LocalDateTime otpExpiry);
+
+    // Compare-and-clear: of all nodes racing on the same code, exactly one gets a row back
+    @Transactional
+    @Modifying
+    @Query("update User u set u.otpHash = null, u.otpExpiry = null where u.username = :username "
+            + "and u.otpHash = :otpHash and u.otpExpiry > :now")
+    int consumeOtp(@Param("username") String username,
+                   @Param("otpHash") String otpHash,
+                   @Param("now") LocalDateTime now);
 }
\ No newline at end of file
@@ -6,8 +6,9 @@ import com.claimswift.auth.exception.*;
 import com.claimswift.auth.repository.*;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.security.SecureRandom;
 import java.time.LocalDateTime;
@@ -19,33 +20,37 @@ import java.util.*;
 public class AuthService {
 
     private final UserRepository userRepo;
-    private final RoleRepository roleRepo;
-    private final LoginAuditRepository loginAuditRepo;
-    private final PasswordEncoder encoder;
+    private final UserSnapshotCache userCache;
+    private final RoleRegistry roleRegistry;
+    private final LoginAuditWriter auditWriter;
+    private final LoginAttemptTracker attemptTracker;
+    private final PasswordHashingService hasher;
     private final JwtService jwtService;
     private final TokenBlacklistService blacklistService;
+    private final RevocationLogService revocationLog;
+    private final RefreshTokenService refreshTokens;
     private final EmailService emailService;
-
-    private static final int MAX_ATTEMPTS = 3;
+    private final TransactionTemplate tx;
 
     private static final Set<String> ALLOWED_ROLES =
             Set.of("USER","MANAGER","ADMIN");
 
 
+    /*
+     * register, login and verifyMfa wait on the BCrypt pool, so they run
+     * outside a transaction: a caller queued for a hash holds no pooled
+     * connection. Whatever has to commit together is written afterwards in
+     * one short transaction through tx. Audit records are buffered by
+     * LoginAuditWriter and never join it.
+     */
+
     /* ================= REGISTER ================= */
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public AuthResponse register(RegisterRequest request) {
 
         if (userRepo.existsByUsername(request.getUsername()))
             throw new RuntimeException("Username already exists");
 
-        User user = new User();
-        user.setUsername(request.getUsername());
-        user.setPassword(encoder.encode(request.getPassword()));
-        user.setEmail(request.getEmail());
-        user.setAccountNonLocked(true);
-        user.setMfaEnabled(true);
-        user.setFailedAttempts(0);
-
         /* ===== ROLE VALIDATION ===== */
         Set<String> requestedRoles = request.getRoles();
 
@@ -58,18 +63,25 @@ public class AuthService {
                 throw new RuntimeException("Invalid role: " + r);
         }
 
+        User user = new User();
+        user.setUsername(request.getUsername());
+        user.setPassword(hasher.encode(request.getPassword()));
+        user.setEmail(request.getEmail());
+        user.setAccountNonLocked(true);
+        user.setMfaEnabled(true);
+        user.setFailedAttempts(0);
+
         /* ===== ROLE ASSIGNMENT ===== */
-        Set<Role> roles = requestedRoles.stream()
-                .map(roleName ->
-                        roleRepo.findByName(roleName.toUpperCase())
-                                .orElseGet(() ->
-                                        roleRepo.save(new Role(roleName.toUpperCase()))
-                                )
-                )
-                .collect(java.util.stream.Collectors.toSet());
-
-        user.setRoles(roles);
-        userRepo.save(user);
+        // A role created here is rolled back with the user if the save fails
+        Set<String> roleNames = requestedRoles;
+        Set<Role> roles = tx.execute(status -> {
+            Set<Role> resolved = roleNames.stream()
+                    .map(roleName -> roleRegistry.resolve(roleName.toUpperCase()))
+                    .collect(java.util.stream.Collectors.toSet());
+            user.setRoles(resolved);
+            userRepo.save(user);
+            return resolved;
+        });
 
         return new AuthResponse(
                 "User registered successfully",
@@ -81,115 +93,165 @@ public class AuthService {
 
 
     /* ================= LOGIN ================= */
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public LoginResponse login(LoginRequest request) {
 
-        User user = userRepo.findByUsername(request.getUsername())
-                .orElseThrow(InvalidCredentialsException::new);
+        UserSnapshot user = userCache.get(request.getUsername())
+                .orElseThrow(() -> failed(request.getUsername(), "Unknown user",
+                        new InvalidCredentialsException()));
 
-        if (!user.isAccountNonLocked())
-            throw new AccountLockedException();
+        if (!user.accountNonLocked() || attemptTracker.isLocked(user.username()))
+            throw failed(user.username(), "Account locked", new AccountLockedException());
 
 
         /* ===== PASSWORD CHECK ===== */
-        if (!encoder.matches(request.getPassword(), user.getPassword())) {
+        if (!hasher.matches(request.getPassword(), user.passwordHash())) {
 
-            int attempts = user.getFailedAttempts() + 1;
-            user.setFailedAttempts(attempts);
+            // Counted in memory; the database is written only on the lock transition
+            if (attemptTracker.recordFailure(user.username(), user.failedAttempts())) {
 
-            if (attempts >= MAX_ATTEMPTS) {
-                user.setAccountNonLocked(false);
-                user.setLockTime(new Date());
-                userRepo.save(user);
-                throw new AccountLockedException();
+                userRepo.updateLockState(user.username(), attemptTracker.maxAttempts(),
+                        false, new Date());
+                userCache.invalidate(user.username());
+
+                throw failed(user.username(), "Invalid password, account locked",
+                        new AccountLockedException());
             }
 
-            userRepo.save(user);
-            throw new InvalidCredentialsException();
+            throw failed(user.username(), "Invalid password", new InvalidCredentialsException());
         }
 
-        user.setFailedAttempts(0);
+        attemptTracker.reset(user.username());
 
         /* ===== NO MFA ===== */
-        if (!user.isMfaEnabled()) {
+        if (!user.mfaEnabled()) {
 
-            String token = jwtService.generateToken(
-                    user.getUsername(),
-                    user.getRoles().stream().map(Role::getName).toList()
-            );
+            String token = jwtService.generateToken(user.username(), user.roles());
+            String refreshToken = refreshTokens.issue(user.username());
 
-            return new LoginResponse(token,false);
+            auditWriter.record(user.username(), true, "Login successful");
+            return new LoginResponse(token,false,refreshToken);
         }
 
         /* ===== MFA OTP GENERATION ===== */
 
         String otp = String.valueOf(100000 + new SecureRandom().nextInt(900000));
+        String otpHash = hasher.encode(otp);
 
-        user.setOtpHash(encoder.encode(otp));
-        user.setOtpExpiry(LocalDateTime.now().plusMinutes(5));
-        userRepo.save(user);
+        // The mail is queued only if the hash it is checked against commits
+        tx.executeWithoutResult(status -> {
+            userRepo.updateOtp(user.username(), otpHash, LocalDateTime.now().plusMinutes(5));
+            emailService.sendOtp(user.email(), otp);
+        });
+        userCache.invalidate(user.username());
 
-        emailService.sendOtp(user.getEmail(), otp);
+        auditWriter.record(user.username(), true, "Password verified, OTP sent");
 
         return new LoginResponse("OTP sent",true);
     }
 
 
     /* ================= VERIFY MFA ================= */
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public AuthResponse verifyMfa(MfaVerifyRequest request) {
 
-        User user = userRepo.findByUsername(request.getUsername())
+        // Never the cached copy: it may predate an OTP issued, or consumed, on another node
+        UserSnapshot user = userCache.reload(request.getUsername())
                 .orElseThrow(() -> new UserNotFoundException(request.getUsername()));
 
-        if (user.getOtpHash() == null ||
-            user.getOtpExpiry() == null ||
-            user.getOtpExpiry().isBefore(LocalDateTime.now()) ||
-            !encoder.matches(request.getCode(), user.getOtpHash()))
-        {
-            throw new InvalidOtpException();
-        }
+        if (!otpMatches(user, request.getCode()))
+            throw failed(user.username(), "Invalid OTP", new InvalidOtpException());
+
+        /* CONSUME OTP BEFORE ISSUING, SO A REPLAY ON ANY NODE FINDS IT GONE */
+        if (userRepo.consumeOtp(user.username(), user.otpHash(), LocalDateTime.now()) != 1)
+            throw failed(user.username(), "OTP already used", new InvalidOtpException());
+
+        userCache.invalidate(user.username());
 
-        List<String> roles = user.getRoles()
-                .stream()
-                .map(Role::getName)
-                .toList();
+        List<String> roles = user.roles();
 
-        String token = jwtService.generateToken(user.getUsername(), roles);
+        String token = jwtService.generateToken(user.username(), roles);
+        String refreshToken = refreshTokens.issue(user.username());
 
-        /* CLEAR OTP AFTER SUCCESS */
-        user.setOtpHash(null);
-        user.setOtpExpiry(null);
-        userRepo.save(user);
+        auditWriter.record(user.username(), true, "MFA verified");
 
         return new AuthResponse(
                 "MFA verified",
-                user.getUsername(),
+                user.username(),
                 roles,
-                token
+                token,
+                refreshToken
         );
     }
 
 
+    /* ================= REFRESH ================= */
+    // InvalidTokenException is checked, so a family dropped on reuse stays dropped
+    public AuthResponse refresh(RefreshRequest request) throws InvalidTokenException {
+
+        RefreshTokenService.Rotation rotation = refreshTokens.rotate(request.getRefreshToken());
+
+        UserSnapshot user = userCache.get(rotation.username()).orElse(null);
+
+        if (user == null || !user.accountNonLocked() || attemptTracker.isLocked(user.username())) {
+            refreshTokens.revoke(rotation.refreshToken());
+            throw new InvalidTokenException();
+        }
+
+        return new AuthResponse(
+                "Token refreshed",
+                user.username(),
+                user.roles(),
+                jwtService.generateToken(user.username(), user.roles()),
+                rotation.refreshToken()
+        );
+    }
+
+
+    private RuntimeException failed(String username, String reason, RuntimeException ex) {
+        auditWriter.record(username, false, reason);
+        return ex;
+    }
+
+    private boolean otpMatches(UserSnapshot user, String code) {
+        return user.otpHash() != null
+                && user.otpExpiry() != null
+                && !user.otpExpiry().isBefore(LocalDateTime.now())
+                && hasher.matches(code, user.otpHash());
+    }
+
+
     /* ================= LOGOUT ================= */
-    public void logout(String header){
+    public void logout(String header, String refreshToken){
+
+        refreshTokens.revoke(refreshToken);
 
         if(header == null || !header.startsWith("Bearer "))
             return;
 
-        blacklistService.blacklist(header.substring(7));
+        String token = header.substring(7);
+
+        // Expired or forged tokens are already rejected, nothing to revoke
+        if(!jwtService.isValid(token))
+            return;
+
+        try {
+            revocationLog.revoke(token,
+                    jwtService.extractAllClaims(token).getExpiration());
+        } catch (DataIntegrityViolationException e) {
+            // Same token logged out concurrently on another node
+        }
     }
 
 
     /* ================= UNLOCK ================= */
     public AuthResponse unlockAccount(String username){
 
-        User user = userRepo.findByUsername(username)
-                .orElseThrow(() -> new UserNotFoundException(username));
-
-        user.setAccountNonLocked(true);
-        user.setFailedAttempts(0);
-        user.setLockTime(null);
+        if (userRepo.updateLockState(username, 0, true, null) == 0)
+            throw new UserNotFoundException(username);
 
-        userRepo.save(user);
+        userCache.invalidate(username);
+        attemptTracker.reset(username);
 
         return new AuthResponse(
                 "Account unlocked",
@@ -1,24 +1,39 @@
 package com.claimswift.auth.service;
 
+import com.claimswift.auth.entity.MailOutbox;
+import com.claimswift.auth.repository.MailOutboxRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+
+/**
+ * Queues outgoing mail in the outbox; {@link MailOutboxRelay} does the SMTP work.
+ * Runs inside the caller's transaction, so an OTP mail exists only if the
+ * matching OTP hash was committed. The code itself is stored sealed, never
+ * in clear.
+ */
 @Service
 @RequiredArgsConstructor
 public class EmailService {
 
-    private final JavaMailSender mailSender;
+    private final MailOutboxRepository outbox;
+    private final SecretCipher cipher;
 
     public void sendOtp(String to, String otp){
 
-        SimpleMailMessage mail = new SimpleMailMessage();
-        mail.setFrom("navyakhairatabad@gmail.com");
-        mail.setTo(to);
-        mail.setSubject("Your OTP Code");
-        mail.setText("Your verification code is: " + otp + "\nValid for 5 minutes.");
+        LocalDateTime now = LocalDateTime.now();
+
+        outbox.save(MailOutbox.builder()
+                .recipient(to)
+                .subject("Your OTP Code")
+                .payload(cipher.seal(otp))
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build());
+    }
 
-        mailSender.send(mail);
+    static String otpText(String otp) {
+        return "Your verification code is: " + otp + "\nValid for 5 minutes.";
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,95 @@
+package com.claimswift.auth.service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Read position over a table tailed by its auto-increment id.
+ *
+ * Ids are allocated at insert but become visible at commit, so a hole below
+ * the highest id read is either a transaction still open or an id burned by
+ * a rollback or failed insert. Rows past a hole are handed out straight
+ * away; the hole itself is remembered and offered for re-reading until it
+ * fills or {@code horizonMs} passes, so a late commit is picked up instead
+ * of being skipped.
+ *
+ * Consumers that need an ordered, gap-free prefix (a replication feed) use
+ * {@link #settledThrough(long)}, which waits on a hole for at most
+ * {@code gapTimeoutMs}. Not thread-safe; callers hold their own lock.
+ */
+public final class IdTail {
+
+    /* Bound on remembered holes; a burst of rollbacks must not grow it forever */
+    private static final int MAX_HOLES = 10_000;
+
+    private final long gapTimeoutMs;
+    private final long horizonMs;
+
+    /* Highest id read so far */
+    private long scanned;
+
+    /* Missing id -> when it was first noticed */
+    private final TreeMap<Long, Long> holes = new TreeMap<>();
+
+    public IdTail(long gapTimeoutMs, long horizonMs) {
+        this.gapTimeoutMs = gapTimeoutMs;
+        this.horizonMs = horizonMs;
+    }
+
+    /* Start after a snapshot: everything up to through has been read */
+    public void seed(long through) {
+        scanned = through;
+        holes.clear();
+    }
+
+    public long scanned() {
+        return scanned;
+    }
+
+    /* Records a row read above scanned(), in ascending order */
+    public void read(long id, long now) {
+
+        if (id <= scanned)
+            return;
+
+        for (long missing = Math.max(scanned + 1, id - MAX_HOLES); missing < id; missing++)
+            holes.putIfAbsent(missing, now);
+
+        while (holes.size() > MAX_HOLES)
+            holes.pollFirstEntry();
+
+        scanned = id;
+    }
+
+    /* Holes worth re-reading; those past the horizon are given up here */
+    public List<Long> openHoles(long now) {
+
+        Iterator<Map.Entry<Long, Long>> it = holes.entrySet().iterator();
+        while (it.hasNext()) {
+            if (now - it.next().getValue() >= horizonMs)
+                it.remove();
+        }
+        return new ArrayList<>(holes.keySet());
+    }
+
+    /* A re-read found the row behind a hole */
+    public void filled(long id) {
+        holes.remove(id);
+    }
+
+    /* Highest id below which no hole younger than the gap timeout remains */
+    public long settledThrough(long now) {
+        for (Map.Entry<Long, Long> hole : holes.entrySet()) {
+            if (now - hole.getValue() < gapTimeoutMs)
+                return hole.getKey() - 1;
+        }
+        return scanned;
+    }
+
+    public int holeCount() {
+        return holes.size();
+    }
+}
@@ -0,0 +1,111 @@
+package com.claimswift.auth.service;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of already verified JWT claims.
+ *
+ * Entries are keyed by the SHA-256 digest of the token, so raw tokens are
+ * never kept on the heap, and they are dropped as soon as the token's
+ * {@code exp} has passed. What is stored is a frozen copy of the claims and
+ * every hit hands out a fresh {@link Claims}, so a caller that modifies its
+ * claims cannot change what the next caller sees.
+ */
+@Component
+public class JwtClaimsCache {
+
+    private final int maxSize;
+
+    private final LruCache<ByteBuffer, Entry> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public JwtClaimsCache(@Value("${jwt.claims-cache.max-size:10000}") int maxSize) {
+        this.maxSize = maxSize;
+        this.entries = new LruCache<>(Math.max(1, maxSize));
+    }
+
+    /* ================= LOOKUP ================= */
+    public Claims get(String token) {
+
+        ByteBuffer key = digest(token);
+        Entry entry = entries.get(key);
+
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+
+        if (entry.expiresAt() <= System.currentTimeMillis()) {
+            entries.remove(key, entry);
+            misses.increment();
+            return null;
+        }
+
+        hits.increment();
+        return Jwts.claims(entry.claims());
+    }
+
+    /* ================= STORE ================= */
+    public void put(String token, Claims claims) {
+
+        if (maxSize <= 0 || claims.getExpiration() == null)
+            return;
+
+        long expiresAt = claims.getExpiration().getTime();
+
+        if (expiresAt <= System.currentTimeMillis())
+            return;
+
+        // Least recently used entry makes room
+        entries.put(digest(token), new Entry(freeze(claims), expiresAt));
+    }
+
+    /* Expired entries are otherwise only dropped when looked up or pushed out */
+    @Scheduled(fixedDelayString = "${jwt.claims-cache.sweep-interval-ms:60000}")
+    public void sweepExpired() {
+        long now = System.currentTimeMillis();
+        entries.removeIf(e -> e.expiresAt() <= now);
+    }
+
+    private static Map<String, Object> freeze(Claims claims) {
+        Map<String, Object> copy = new LinkedHashMap<>();
+        claims.forEach((name, value) -> copy.put(name, value instanceof List<?> list
+                ? Collections.unmodifiableList(new ArrayList<>(list))
+                : value));
+        return Collections.unmodifiableMap(copy);
+    }
+
+    /* ================= STATS ================= */
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private static ByteBuffer digest(String token) {
+        return ByteBuffer.wrap(TokenDigest.sha256(token));
+    }
+
+    private record Entry(Map<String, Object> claims, long expiresAt) {
+    }
+}
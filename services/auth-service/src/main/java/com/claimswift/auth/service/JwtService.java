@@ -1,46 +1,73 @@
 package com.claimswift.auth.service;
 
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.nio.charset.StandardCharsets;
-import java.security.Key;
 import java.util.Date;
 import java.util.List;
 
 @Service
 public class JwtService {
 
-    private static final String SECRET =
-            "mysecretkeymysecretkeymysecretkey_1234";
+    private final JwtClaimsCache claimsCache;
+    private final SigningKeyStore keyStore;
 
-    private static final long EXPIRATION =
-            1000 * 60 * 60 * 10; // 10 hours
+    /* Short, so a revocation only has to be remembered briefly; refresh tokens cover the session */
+    private static final long DEFAULT_EXPIRATION =
+            1000 * 60 * 15; // 15 minutes
 
-    private Key getKey() {
-        return Keys.hmacShaKeyFor(
-                SECRET.getBytes(StandardCharsets.UTF_8));
+    private final long expiration;
+
+    /* The parser is thread-safe; it looks the verification key up by kid */
+    private final JwtParser parser;
+
+    public JwtService(JwtClaimsCache claimsCache, SigningKeyStore keyStore) {
+        this(claimsCache, keyStore, DEFAULT_EXPIRATION);
+    }
+
+    @Autowired
+    public JwtService(JwtClaimsCache claimsCache, SigningKeyStore keyStore,
+                      @Value("${auth.jwt.access-token-ttl-ms:900000}") long expiration) {
+        this.claimsCache = claimsCache;
+        this.keyStore = keyStore;
+        this.expiration = expiration;
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(keyStore)
+                .build();
     }
 
     /* ================= GENERATE TOKEN ================= */
     public String generateToken(String username, List<String> roles) {
 
+        SigningKeyStore.LoadedKey key = keyStore.current();
+
         return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, key.kid())
                 .setSubject(username)
                 .claim("roles", roles)
                 .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION))
-                .signWith(getKey(), SignatureAlgorithm.HS256)
+                .setExpiration(new Date(System.currentTimeMillis() + expiration))
+                .signWith(key.privateKey(), SignatureAlgorithm.RS256)
                 .compact();
     }
 
     /* ================= PARSE CLAIMS ================= */
     public Claims extractAllClaims(String token) {
 
-        return Jwts.parserBuilder()
-                .setSigningKey(getKey())
-                .build()
+        Claims cached = claimsCache.get(token);
+        if (cached != null)
+            return cached;
+
+        Claims claims = parseClaims(token);
+        claimsCache.put(token, claims);
+        return claims;
+    }
+
+    private Claims parseClaims(String token) {
+
+        return parser
                 .parseClaimsJws(token)
                 .getBody();
     }
@@ -0,0 +1,153 @@
+package com.claimswift.auth.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts failed logins per username without locks or database writes.
+ *
+ * Each username keeps the timestamps of its last {@code max-attempts}
+ * failures in a small ring; the account locks once all of them fall inside
+ * the sliding window. Only the failure that crosses the threshold wins the
+ * CAS and reports the lock, so under a parallel brute force the lock is
+ * persisted exactly once and no increment is lost.
+ *
+ * The tracker is not the source of truth for the lock itself: callers only
+ * record failures for users whose stored row reads as unlocked, so a local
+ * lock older than the bridge means it was lifted elsewhere (an admin unlock
+ * on another node, or directly in the database) and counting starts over.
+ *
+ * Usernames live in a bounded LRU that only gives up an entry once its
+ * failures have left the window. A spray of throwaway usernames therefore
+ * cannot push out a user under attack; when every slot is live the new
+ * name goes untracked instead, and the per-username rate limit still holds.
+ */
+@Component
+public class LoginAttemptTracker {
+
+    private final int maxAttempts;
+    private final long windowMs;
+    private final long lockBridgeMs;
+
+    private final LruCache<String, Attempts> attempts;
+
+    public LoginAttemptTracker(
+            @Value("${auth.lockout.max-attempts:3}") int maxAttempts,
+            @Value("${auth.lockout.window-ms:900000}") long windowMs,
+            @Value("${auth.lockout.bridge-ms:5000}") long lockBridgeMs,
+            @Value("${auth.lockout.max-tracked:100000}") int maxTracked) {
+        this.maxAttempts = maxAttempts;
+        this.windowMs = windowMs;
+        this.lockBridgeMs = lockBridgeMs;
+        this.attempts = new LruCache<>(Math.max(1, maxTracked), a -> a.isIdle(System.currentTimeMillis()));
+    }
+
+    /* ================= FAILURES ================= */
+
+    public boolean recordFailure(String username) {
+        return recordFailure(username, 0);
+    }
+
+    /*
+     * True for exactly one caller: the failure that locks the account.
+     * persistedFailures is the stored count, which seeds a username this
+     * node has not tracked yet, e.g. after a restart.
+     */
+    public boolean recordFailure(String username, int persistedFailures) {
+
+        long now = System.currentTimeMillis();
+
+        Attempts a = attempts.getOrAdmit(username,
+                u -> new Attempts(maxAttempts, Math.min(persistedFailures, maxAttempts - 1), now));
+
+        // Every slot holds live failures; never trade one of them for a new name
+        if (a == null)
+            return false;
+
+        int slot = Math.floorMod(a.cursor.getAndIncrement(), maxAttempts);
+        a.failures.set(slot, now);
+
+        if (a.countSince(now - windowMs) < maxAttempts)
+            return false;
+
+        // Racing failures past the threshold see the lock already taken;
+        // past the bridge the stored row reads unlocked, so that lock was lifted
+        long lockedAt = a.lockedAt.get();
+        if (lockedAt != 0 && now - lockedAt < lockBridgeMs)
+            return false;
+
+        if (!a.lockedAt.compareAndSet(lockedAt, now))
+            return false;
+
+        // After an unlock the count starts from zero again
+        a.clearFailures();
+        return true;
+    }
+
+    /*
+     * Covers the moment between a lock and its commit, when the stored user
+     * still reads as unlocked. Kept short so an unlock on another node wins.
+     */
+    public boolean isLocked(String username) {
+        Attempts a = attempts.get(username);
+        if (a == null)
+            return false;
+        long lockedAt = a.lockedAt.get();
+        return lockedAt != 0 && System.currentTimeMillis() - lockedAt < lockBridgeMs;
+    }
+
+    public int failureCount(String username) {
+        Attempts a = attempts.get(username);
+        return a == null ? 0 : a.countSince(System.currentTimeMillis() - windowMs);
+    }
+
+    /* Successful login or unlock */
+    public void reset(String username) {
+        attempts.remove(username);
+    }
+
+    public int maxAttempts() {
+        return maxAttempts;
+    }
+
+    public int trackedCount() {
+        return attempts.size();
+    }
+
+    private final class Attempts {
+
+        final AtomicLongArray failures;
+        final AtomicInteger cursor = new AtomicInteger();
+        final AtomicLong lockedAt = new AtomicLong();
+
+        Attempts(int size, int seeded, long at) {
+            failures = new AtomicLongArray(size);
+            for (int i = 0; i < seeded; i++)
+                failures.set(cursor.getAndIncrement(), at);
+        }
+
+        int countSince(long since) {
+            int count = 0;
+            for (int i = 0; i < failures.length(); i++) {
+                if (failures.get(i) > since)
+                    count++;
+            }
+            return count;
+        }
+
+        // No failure left in the window and no lock being bridged
+        boolean isIdle(long now) {
+            long locked = lockedAt.get();
+            return countSince(now - windowMs) == 0 && (locked == 0 || now - locked >= lockBridgeMs);
+        }
+
+        void clearFailures() {
+            for (int i = 0; i < failures.length(); i++)
+                failures.set(i, 0);
+        }
+    }
+}
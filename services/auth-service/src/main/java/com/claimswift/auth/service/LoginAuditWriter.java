@@ -0,0 +1,195 @@
+package com.claimswift.auth.service;
+
+import com.claimswift.auth.entity.LoginAudit;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records login outcomes without putting a DB write on the login path.
+ *
+ * {@link #record} only offers to a bounded buffer; when the buffer is full
+ * because the database lags, the record is dropped and counted. A single
+ * background thread flushes the buffer as one JDBC batch insert whenever
+ * {@code batch-size} records are waiting or {@code flush-interval-ms} has
+ * passed. The last few failures per username are kept in memory as well,
+ * so they can be queried without a round trip. That map is an LRU: a spray
+ * of new names pushes out the users least recently failed, never the one
+ * still under attack.
+ */
+@Component
+public class LoginAuditWriter {
+
+    private static final String INSERT =
+            "insert into login_audit (username, success, message, timestamp) values (?, ?, ?, ?)";
+
+    /* Give up on a batch after this many failed flushes */
+    private static final int MAX_FLUSH_ATTEMPTS = 3;
+
+    private final JdbcTemplate jdbc;
+    private final BlockingQueue<LoginAudit> buffer;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final int failuresPerUser;
+
+    private final LruCache<String, Deque<LoginAudit>> recentFailures;
+
+    private final LongAdder written = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public LoginAuditWriter(
+            JdbcTemplate jdbc,
+            @Value("${auth.audit.buffer-size:10000}") int bufferSize,
+            @Value("${auth.audit.batch-size:200}") int batchSize,
+            @Value("${auth.audit.flush-interval-ms:1000}") long flushIntervalMs,
+            @Value("${auth.audit.failures-per-user:20}") int failuresPerUser,
+            @Value("${auth.audit.max-tracked-users:10000}") int maxTrackedUsers) {
+        this.jdbc = jdbc;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.failuresPerUser = failuresPerUser;
+        this.recentFailures = new LruCache<>(Math.max(1, maxTrackedUsers));
+    }
+
+    /* ================= RECORD ================= */
+    public void record(String username, boolean success, String message) {
+
+        LoginAudit audit = LoginAudit.builder()
+                .username(username)
+                .success(success)
+                .message(message)
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        if (!buffer.offer(audit))
+            dropped.increment();
+
+        if (success)
+            recentFailures.remove(username);
+        else
+            rememberFailure(audit);
+    }
+
+    private void rememberFailure(LoginAudit audit) {
+
+        // Touching the entry keeps an attacked user at the young end of the LRU
+        Deque<LoginAudit> failures =
+                recentFailures.getOrAdmit(audit.getUsername(), u -> new ArrayDeque<>());
+
+        synchronized (failures) {
+            failures.addFirst(audit);
+            while (failures.size() > failuresPerUser)
+                failures.removeLast();
+        }
+    }
+
+    /* ================= QUERY ================= */
+    public List<LoginAudit> recentFailures(String username) {
+
+        Deque<LoginAudit> failures = recentFailures.get(username);
+        if (failures == null)
+            return List.of();
+
+        synchronized (failures) {
+            return List.copyOf(failures);
+        }
+    }
+
+    /* ================= BACKGROUND FLUSH ================= */
+    @PostConstruct
+    public void start() {
+        running = true;
+        worker = new Thread(this::drainLoop, "login-audit-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        worker.interrupt();
+        worker.join(5_000);
+    }
+
+    private void drainLoop() {
+
+        List<LoginAudit> batch = new ArrayList<>(batchSize);
+        long lastFlush = System.currentTimeMillis();
+        int attempts = 0;
+
+        while (running || !batch.isEmpty() || !buffer.isEmpty()) {
+
+            try {
+                LoginAudit next = buffer.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (next != null)
+                    batch.add(next);
+            } catch (InterruptedException e) {
+                // Shutting down: fall through and flush what is left
+            }
+            buffer.drainTo(batch, batchSize - batch.size());
+
+            long now = System.currentTimeMillis();
+            boolean due = batch.size() >= batchSize
+                    || now - lastFlush >= flushIntervalMs
+                    || !running;
+
+            if (batch.isEmpty() || !due)
+                continue;
+
+            try {
+                flush(batch);
+                batch.clear();
+                attempts = 0;
+            } catch (DataAccessException e) {
+                // Keep the batch for a retry; the bounded buffer sheds load meanwhile
+                if (++attempts >= MAX_FLUSH_ATTEMPTS || !running) {
+                    dropped.add(batch.size());
+                    batch.clear();
+                    attempts = 0;
+                }
+            }
+            lastFlush = now;
+        }
+    }
+
+    private void flush(List<LoginAudit> batch) {
+        jdbc.batchUpdate(INSERT, batch, batch.size(), (ps, audit) -> {
+            ps.setString(1, audit.getUsername());
+            ps.setBoolean(2, audit.isSuccess());
+            ps.setString(3, audit.getMessage());
+            ps.setTimestamp(4, Timestamp.valueOf(audit.getTimestamp()));
+        });
+        written.add(batch.size());
+    }
+
+    /* ================= STATS ================= */
+    public int bufferedCount() {
+        return buffer.size();
+    }
+
+    public long writtenCount() {
+        return written.sum();
+    }
+
+    public long droppedCount() {
+        return dropped.sum();
+    }
+}
@@ -0,0 +1,66 @@
+package com.claimswift.auth.service;
+
+import com.claimswift.auth.exception.RateLimitExceededException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Throttles credential endpoints per client IP and per username.
+ *
+ * The IP check runs in {@code RateLimitFilter} before login, register and
+ * verify-mfa are reached; the username check runs in {@code AuthController}
+ * before login and verifyMfa open their transaction.
+ * Both answer from memory, ahead of any database or BCrypt work.
+ */
+@Component
+public class LoginRateLimiter {
+
+    private final TokenBucketLimiter ipBuckets;
+    private final TokenBucketLimiter usernameBuckets;
+
+    private final LongAdder ipRejections = new LongAdder();
+    private final LongAdder usernameRejections = new LongAdder();
+
+    public LoginRateLimiter(
+            @Value("${auth.rate-limit.ip.capacity:30}") int ipCapacity,
+            @Value("${auth.rate-limit.ip.refill-per-second:10}") double ipRefill,
+            @Value("${auth.rate-limit.username.capacity:5}") int usernameCapacity,
+            @Value("${auth.rate-limit.username.refill-per-second:0.2}") double usernameRefill,
+            @Value("${auth.rate-limit.max-keys:100000}") int maxKeys) {
+        this.ipBuckets = new TokenBucketLimiter(ipCapacity, ipRefill, maxKeys);
+        this.usernameBuckets = new TokenBucketLimiter(usernameCapacity, usernameRefill, maxKeys);
+    }
+
+    public boolean allowIp(String ip) {
+        if (ipBuckets.tryAcquire(ip))
+            return true;
+        ipRejections.increment();
+        return false;
+    }
+
+    public void checkUsername(String username) {
+        if (username == null || usernameBuckets.tryAcquire(username))
+            return;
+        usernameRejections.increment();
+        throw new RateLimitExceededException();
+    }
+
+    /* ================= STATS ================= */
+    public long ipRejectionCount() {
+        return ipRejections.sum();
+    }
+
+    public long usernameRejectionCount() {
+        return usernameRejections.sum();
+    }
+
+    public int trackedIpCount() {
+        return ipBuckets.size();
+    }
+
+    public int trackedUsernameCount() {
+        return usernameBuckets.size();
+    }
+}
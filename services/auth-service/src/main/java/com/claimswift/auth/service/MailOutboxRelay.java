@@ -0,0 +1,230 @@
+package com.claimswift.auth.service;
+
+import com.claimswift.auth.entity.MailOutbox;
+import com.claimswift.auth.repository.MailOutboxRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Drains the mail outbox in the background.
+ *
+ * Each pass sends a whole batch through one {@code send(...)} call, which
+ * JavaMailSender delivers over a single SMTP connection. Failed mails are
+ * retried with exponential backoff and dead-lettered after
+ * {@code max-attempts}, or as soon as they are older than an OTP can live.
+ *
+ * No transaction is open during SMTP: due rows are claimed in one short
+ * transaction by pushing their next attempt out by {@code lease-ms}, sent,
+ * and their outcome recorded in a second one. A node that dies mid-send
+ * leaves the lease to run out, after which any node retries the mail.
+ */
+@Component
+public class MailOutboxRelay {
+
+    private final MailOutboxRepository outbox;
+    private final JavaMailSender mailSender;
+    private final SecretCipher cipher;
+    private final TransactionTemplate tx;
+
+    private final String from;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long maxAgeMs;
+    private final long leaseMs;
+
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder deadLettered = new LongAdder();
+
+    public MailOutboxRelay(
+            MailOutboxRepository outbox,
+            JavaMailSender mailSender,
+            SecretCipher cipher,
+            TransactionTemplate tx,
+            @Value("${auth.mail.from:navyakhairatabad@gmail.com}") String from,
+            @Value("${auth.mail.batch-size:50}") int batchSize,
+            @Value("${auth.mail.max-attempts:5}") int maxAttempts,
+            @Value("${auth.mail.max-age-ms:300000}") long maxAgeMs,
+            @Value("${auth.mail.lease-ms:60000}") long leaseMs) {
+        this.outbox = outbox;
+        this.mailSender = mailSender;
+        this.cipher = cipher;
+        this.tx = tx;
+        this.from = from;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.maxAgeMs = maxAgeMs;
+        this.leaseMs = leaseMs;
+    }
+
+    /* ================= RELAY ================= */
+    @Scheduled(fixedDelayString = "${auth.mail.relay-interval-ms:1000}")
+    public int relay() {
+        return relay(LocalDateTime.now());
+    }
+
+    /* One batch; returns the number of mails handed to SMTP successfully */
+    private int relay(LocalDateTime now) {
+
+        List<MailOutbox> batch = tx.execute(s -> claim(now));
+        if (batch == null || batch.isEmpty())
+            return 0;
+
+        List<SimpleMailMessage> messages = new ArrayList<>();
+        List<MailOutbox> sendable = new ArrayList<>();
+        for (MailOutbox mail : batch) {
+            SimpleMailMessage message = toMessage(mail);
+            if (message == null) {
+                deadLetter(mail, "Payload cannot be opened with the configured KEK");
+                continue;
+            }
+            sendable.add(mail);
+            messages.add(message);
+        }
+
+        Map<Object, Exception> failures = messages.isEmpty() ? Map.of() : send(messages);
+
+        int delivered = 0;
+        for (int i = 0; i < sendable.size(); i++) {
+            Exception error = failures.get(messages.get(i));
+            if (error == null) {
+                markSent(sendable.get(i), now);
+                delivered++;
+            } else {
+                retryLater(sendable.get(i), now, error);
+            }
+        }
+
+        tx.executeWithoutResult(s -> outbox.saveAll(batch));
+        return delivered;
+    }
+
+    /* One SMTP connection for the whole batch; returns the messages that failed */
+    private Map<Object, Exception> send(List<SimpleMailMessage> messages) {
+        try {
+            mailSender.send(messages.toArray(new SimpleMailMessage[0]));
+            return Map.of();
+        } catch (MailSendException e) {
+            // No per-message detail means the whole batch failed, e.g. on connect
+            return e.getFailedMessages().isEmpty() ? allFailed(messages, e) : e.getFailedMessages();
+        } catch (MailException e) {
+            return allFailed(messages, e);
+        }
+    }
+
+    /* Locks due rows just long enough to lease them; expired ones are dropped here */
+    private List<MailOutbox> claim(LocalDateTime now) {
+
+        List<MailOutbox> due = outbox.claimDue(
+                MailOutbox.Status.PENDING, now, PageRequest.of(0, batchSize));
+
+        List<MailOutbox> leased = new ArrayList<>();
+        for (MailOutbox mail : due) {
+
+            // The OTP inside is already expired, sending it only confuses the user
+            if (mail.getCreatedAt().plusNanos(maxAgeMs * 1_000_000).isBefore(now)) {
+                deadLetter(mail, "Expired before it could be sent");
+                continue;
+            }
+
+            mail.setNextAttemptAt(now.plusNanos(leaseMs * 1_000_000));
+            leased.add(mail);
+        }
+
+        outbox.saveAll(due);
+        return leased;
+    }
+
+    /* ================= HOUSEKEEPING ================= */
+    @Scheduled(fixedDelayString = "${auth.mail.cleanup-interval-ms:3600000}")
+    public void purgeFinished() {
+        outbox.deleteFinishedBefore(MailOutbox.Status.PENDING, LocalDateTime.now().minusDays(1));
+    }
+
+    /* Rendered only here, so the code is in clear for no longer than the send */
+    private SimpleMailMessage toMessage(MailOutbox mail) {
+
+        String otp;
+        try {
+            otp = cipher.open(mail.getPayload());
+        } catch (RuntimeException e) {
+            return null;
+        }
+
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(from);
+        message.setTo(mail.getRecipient());
+        message.setSubject(mail.getSubject());
+        message.setText(EmailService.otpText(otp));
+        return message;
+    }
+
+    private void markSent(MailOutbox mail, LocalDateTime now) {
+        mail.setStatus(MailOutbox.Status.SENT);
+        mail.setSentAt(now);
+        mail.setPayload(null);
+        mail.setLastError(null);
+        sent.increment();
+    }
+
+    private void retryLater(MailOutbox mail, LocalDateTime now, Exception error) {
+
+        failed.increment();
+        mail.setAttempts(mail.getAttempts() + 1);
+
+        if (mail.getAttempts() >= maxAttempts) {
+            deadLetter(mail, error.getMessage());
+            return;
+        }
+
+        // 2s, 4s, 8s, ...
+        mail.setNextAttemptAt(now.plusSeconds(1L << mail.getAttempts()));
+        mail.setLastError(truncate(error.getMessage()));
+    }
+
+    private void deadLetter(MailOutbox mail, String reason) {
+        mail.setStatus(MailOutbox.Status.DEAD);
+        mail.setPayload(null);
+        mail.setLastError(truncate(reason));
+        deadLettered.increment();
+    }
+
+    private static Map<Object, Exception> allFailed(List<SimpleMailMessage> messages, Exception e) {
+        Map<Object, Exception> failures = new IdentityHashMap<>();
+        messages.forEach(m -> failures.put(m, e));
+        return failures;
+    }
+
+    private static String truncate(String message) {
+        if (message == null)
+            return null;
+        return message.length() <= 500 ? message : message.substring(0, 500);
+    }
+
+    /* ================= STATS ================= */
+    public long sentCount() {
+        return sent.sum();
+    }
+
+    public long failedCount() {
+        return failed.sum();
+    }
+
+    public long deadLetterCount() {
+        return deadLettered.sum();
+    }
+}
@@ -0,0 +1,134 @@
+package com.claimswift.auth.service;
+
+import com.claimswift.auth.exception.HashingCapacityException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs BCrypt on a small fixed pool instead of the servlet threads.
+ *
+ * At most {@code pool-size} hashes run at once and {@code queue-capacity}
+ * wait; anything beyond that fails straight away with
+ * {@link HashingCapacityException} (503), so a login burst cannot tie up
+ * every Tomcat thread and starve cheap endpoints such as /auth/validate.
+ * Callers wait up to {@code timeout-ms} for the result, so they must not
+ * hold a transaction (and with it a pooled connection) while they do.
+ */
+@Service
+public class PasswordHashingService {
+
+    private final PasswordEncoder encoder;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMs;
+
+    private final LongAdder hashes = new LongAdder();
+    private final LongAdder hashNanos = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+
+    public PasswordHashingService(
+            PasswordEncoder encoder,
+            @Value("${auth.hashing.pool-size:0}") int poolSize,
+            @Value("${auth.hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${auth.hashing.timeout-ms:5000}") long timeoutMs) {
+
+        // BCrypt is pure CPU, more threads than cores only adds contention
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+
+        AtomicInteger counter = new AtomicInteger();
+
+        this.encoder = encoder;
+        this.timeoutMs = timeoutMs;
+        this.executor = new ThreadPoolExecutor(
+                threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                r -> {
+                    Thread t = new Thread(r, "bcrypt-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /* ================= HASHING ================= */
+    public String encode(CharSequence raw) {
+        return run(() -> encoder.encode(raw));
+    }
+
+    public boolean matches(CharSequence raw, String encoded) {
+        return run(() -> encoder.matches(raw, encoded));
+    }
+
+    private <T> T run(Callable<T> work) {
+
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long start = System.nanoTime();
+                try {
+                    return work.call();
+                } finally {
+                    hashNanos.add(System.nanoTime() - start);
+                    hashes.increment();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejections.increment();
+            throw new HashingCapacityException();
+        }
+
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejections.increment();
+            throw new HashingCapacityException();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new HashingCapacityException();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re)
+                throw re;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /* ================= STATS ================= */
+    public int queueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public int activeCount() {
+        return executor.getActiveCount();
+    }
+
+    public long hashCount() {
+        return hashes.sum();
+    }
+
+    public double hashTimeNanos() {
+        return hashNanos.sum();
+    }
+
+    public long rejectionCount() {
+        return rejections.sum();
+    }
+}
@@ -0,0 +1,103 @@
+package com.claimswift.auth.service;
+
+import com.claimswift.auth.entity.RefreshToken;
+import com.claimswift.auth.exception.InvalidTokenException;
+import com.claimswift.auth.repository.RefreshTokenRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Opaque, single-use refresh tokens.
+ *
+ * Access tokens are short-lived and stateless; this is the only per-session
+ * state, looked up by the token's hash through a unique index.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final RefreshTokenRepository repository;
+    private final long ttlMs;
+
+    public RefreshTokenService(RefreshTokenRepository repository,
+                               @Value("${auth.jwt.refresh-token-ttl-ms:604800000}") long ttlMs) {
+        this.repository = repository;
+        this.ttlMs = ttlMs;
+    }
+
+    public record Rotation(String username, String refreshToken) {
+    }
+
+    /* ================= ISSUE ================= */
+    public String issue(String username) {
+        return issue(username, HexFormat.of().formatHex(randomBytes(16)));
+    }
+
+    private String issue(String username, String familyId) {
+
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(randomBytes(32));
+
+        repository.save(RefreshToken.builder()
+                .tokenHash(TokenDigest.sha256Hex(token))
+                .familyId(familyId)
+                .username(username)
+                .expiresAt(System.currentTimeMillis() + ttlMs)
+                .build());
+
+        return token;
+    }
+
+    /* ================= ROTATE ================= */
+    public Rotation rotate(String token) throws InvalidTokenException {
+
+        RefreshToken current = find(token)
+                .orElseThrow(InvalidTokenException::new);
+
+        if (current.getExpiresAt() <= System.currentTimeMillis())
+            throw new InvalidTokenException();
+
+        // Already rotated: someone else holds a copy, end the whole session
+        if (current.isUsed() || repository.markUsed(current.getId()) == 0) {
+            repository.deleteFamily(current.getFamilyId());
+            throw new InvalidTokenException();
+        }
+
+        return new Rotation(current.getUsername(),
+                issue(current.getUsername(), current.getFamilyId()));
+    }
+
+    /* ================= REVOKE ================= */
+    public void revoke(String token) {
+        find(token).ifPresent(t -> repository.deleteFamily(t.getFamilyId()));
+    }
+
+    private Optional<RefreshToken> find(String token) {
+        if (token == null || token.isBlank())
+            return Optional.empty();
+        return repository.findByTokenHash(TokenDigest.sha256Hex(token));
+    }
+
+    /* ================= PURGE ================= */
+    @Scheduled(fixedDelayString = "${auth.jwt.refresh-purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        try {
+            repository.deleteExpired(System.currentTimeMillis());
+        } catch (DataAccessException e) {
+            // Retried on the next run
+        }
+    }
+
+    private static byte[] randomBytes(int n) {
+        byte[] bytes = new byte[n];
+        RANDOM.nextBytes(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,100 @@
+package com.claimswift.auth.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free Bloom filter over bearer tokens.
+ *
+ * Hashes only the JWT signature segment, which is already uniformly random,
+ * with a cheap 64-bit mix; k probe positions come from double hashing.
+ * Bits are only ever set, so a filter is discarded rather than cleared.
+ */
+public final class RevocationBloomFilter {
+
+    private final AtomicLongArray bits;
+    private final int numBits;
+    private final int numHashes;
+
+    public RevocationBloomFilter(int expectedInsertions, double falsePositiveRate) {
+
+        int n = Math.max(1, expectedInsertions);
+        double ln2 = Math.log(2);
+
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (ln2 * ln2));
+        this.numBits = (int) Math.max(64, Math.min(m, Integer.MAX_VALUE - 63));
+        this.numHashes = Math.max(1, (int) Math.round((double) numBits / n * ln2));
+        this.bits = new AtomicLongArray((numBits + 63) >>> 6);
+    }
+
+    public void put(String token) {
+        put(hash(token));
+    }
+
+    /* Takes a precomputed {@link #hash(String)}, e.g. one replicated from auth_db */
+    public void put(long hash) {
+
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+
+        for (int i = 1; i <= numHashes; i++) {
+            int bit = index(h1 + i * h2);
+            long mask = 1L << bit;
+            int word = bit >>> 6;
+
+            long current = bits.get(word);
+            while ((current & mask) == 0
+                    && !bits.compareAndSet(word, current, current | mask)) {
+                current = bits.get(word);
+            }
+        }
+    }
+
+    public boolean mightContain(String token) {
+        return mightContain(hash(token));
+    }
+
+    public boolean mightContain(long hash) {
+
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+
+        for (int i = 1; i <= numHashes; i++) {
+            int bit = index(h1 + i * h2);
+            if ((bits.get(bit >>> 6) & (1L << bit)) == 0)
+                return false;
+        }
+        return true;
+    }
+
+    public int numBits() {
+        return numBits;
+    }
+
+    public int numHashes() {
+        return numHashes;
+    }
+
+    private int index(int combined) {
+        return (combined & Integer.MAX_VALUE) % numBits;
+    }
+
+    /* 64-bit mix of the signature segment (after the last '.') */
+    public static long hash(String token) {
+
+        int start = token.lastIndexOf('.') + 1;
+        if (start >= token.length())
+            start = 0;
+
+        long h = 0x9E3779B97F4A7C15L;
+        for (int i = start; i < token.length(); i++) {
+            h ^= token.charAt(i);
+            h *= 0xBF58476D1CE4E5B9L;
+            h ^= h >>> 29;
+        }
+
+        h ^= h >>> 32;
+        h *= 0x94D049BB133111EBL;
+        h ^= h >>> 29;
+        return h;
+    }
+}
@@ -0,0 +1,197 @@
+package com.claimswift.auth.service;
+
+import com.claimswift.auth.entity.RevokedToken;
+import com.claimswift.auth.repository.RevokedTokenRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Durable revocation log in auth_db, shared by every auth-service node.
+ *
+ * A logout appends one row and applies it locally once it has committed.
+ * Every node then tails the table by id into its {@link TokenBlacklistService},
+ * so a token revoked on one node is rejected by all of them within one tail
+ * interval. On startup only unexpired rows are loaded, which is the log
+ * after compaction, and tailing carries on from the highest id seen.
+ *
+ * Rows behind a hole in the ids are applied without waiting; the hole is
+ * re-read until it fills or a whole token lifetime has passed, after which
+ * any revocation it could still hold is moot.
+ */
+@Service
+public class RevocationLogService {
+
+    private static final int TAIL_BATCH = 1000;
+
+    /* How long the replication feed waits on a hole before handing out ids past it */
+    private static final long GAP_TIMEOUT_MS = 10_000;
+
+    private final RevokedTokenRepository repository;
+    private final TokenBlacklistService blacklist;
+
+    private volatile boolean loaded;
+
+    /* Snapshot and tail both hold this across queries, so no monitor */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final IdTail position;
+
+    public RevocationLogService(RevokedTokenRepository repository, TokenBlacklistService blacklist) {
+        this(repository, blacklist, 900_000);
+    }
+
+    @Autowired
+    public RevocationLogService(
+            RevokedTokenRepository repository,
+            TokenBlacklistService blacklist,
+            @Value("${auth.jwt.access-token-ttl-ms:900000}") long accessTokenTtlMs) {
+        this.repository = repository;
+        this.blacklist = blacklist;
+        this.position = new IdTail(GAP_TIMEOUT_MS, accessTokenTtlMs);
+    }
+
+    /* ================= APPEND ================= */
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public void revoke(String token, Date expiresAt) {
+
+        long exp = expiresAt.getTime();
+
+        if (exp <= System.currentTimeMillis())
+            return;
+
+        String digest = TokenDigest.sha256Hex(token);
+
+        if (repository.existsByDigest(digest))
+            return;
+
+        RevokedToken row = repository.save(RevokedToken.builder()
+                .digest(digest)
+                .bloomKey(RevocationBloomFilter.hash(token))
+                .expiresAt(exp)
+                .revokedAt(LocalDateTime.now())
+                .build());
+
+        // Effective here once durable; peers pick it up on their next tail
+        afterCommit(() -> apply(row));
+    }
+
+    /* ================= STARTUP SNAPSHOT ================= */
+    @PostConstruct
+    public void loadSnapshot() {
+        try {
+            loadSnapshot(System.currentTimeMillis());
+        } catch (DataAccessException e) {
+            // Database not reachable yet; the next tail retries the snapshot
+        }
+    }
+
+    void loadSnapshot(long now) {
+
+        lock.lock();
+        try {
+            if (loaded)
+                return;
+
+            // Read the high-water mark first; rows added meanwhile are re-read by the tail
+            long through = repository.maxId();
+
+            for (RevokedToken row : repository.findByExpiresAtGreaterThanOrderByIdAsc(now))
+                apply(row);
+
+            position.seed(through);
+            blacklist.advanceReplicatedThrough(through);
+            loaded = true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /* ================= TAIL ================= */
+    @Scheduled(fixedDelayString = "${auth.blacklist.tail-interval-ms:500}")
+    public void tail() {
+        try {
+            tail(System.currentTimeMillis());
+        } catch (DataAccessException e) {
+            // Transient; the position is unchanged, so nothing is lost
+        }
+    }
+
+    /* Applies new rows and late fills of earlier holes; returns how many were read */
+    int tail(long now) {
+
+        if (!loaded) {
+            loadSnapshot(now);
+            return 0;
+        }
+
+        lock.lock();
+        try {
+            List<RevokedToken> rows = repository.findByIdGreaterThanOrderByIdAsc(
+                    position.scanned(), PageRequest.of(0, TAIL_BATCH));
+
+            for (RevokedToken row : rows) {
+                apply(row);
+                position.read(row.getId(), now);
+            }
+
+            int late = 0;
+            List<Long> holes = position.openHoles(now);
+            if (!holes.isEmpty()) {
+                List<Long> recheck = holes.subList(0, Math.min(holes.size(), TAIL_BATCH));
+                for (RevokedToken row : repository.findAllById(recheck)) {
+                    apply(row);
+                    position.filled(row.getId());
+                    late++;
+                }
+            }
+
+            blacklist.advanceReplicatedThrough(position.settledThrough(now));
+            return rows.size() + late;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /* ================= COMPACTION ================= */
+    @Scheduled(fixedDelayString = "${auth.blacklist.compaction-interval-ms:300000}")
+    public void compact() {
+        try {
+            repository.deleteExpired(System.currentTimeMillis());
+        } catch (DataAccessException e) {
+            // Expired rows are harmless; retried next round
+        }
+    }
+
+    private void apply(RevokedToken row) {
+        blacklist.apply(row.getId(), row.getDigest(), row.getBloomKey(), row.getExpiresAt());
+    }
+
+    /* A rolled-back logout must not leave a revocation behind on this node */
+    private static void afterCommit(Runnable action) {
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
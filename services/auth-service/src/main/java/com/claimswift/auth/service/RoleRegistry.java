@@ -0,0 +1,92 @@
+package com.claimswift.auth.service;
+
+import com.claimswift.auth.entity.Role;
+import com.claimswift.auth.repository.RoleRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Role name to {@link Role}, loaded once at startup.
+ *
+ * The map is immutable and swapped whole in the rare case a role has to be
+ * created, so lookups never lock and never touch the database. A role
+ * created inside a transaction is only published once that transaction
+ * commits; a rollback must not leave the map pointing at a missing row.
+ */
+@Component
+@RequiredArgsConstructor
+public class RoleRegistry {
+
+    private final RoleRepository roleRepo;
+
+    private volatile Map<String, Role> roles = Map.of();
+
+    /* Not a monitor: the holder does JDBC, which must not pin a virtual thread */
+    private final ReentrantLock createLock = new ReentrantLock();
+
+    @PostConstruct
+    public void load() {
+        roles = roleRepo.findAll().stream()
+                .collect(Collectors.toUnmodifiableMap(Role::getName, Function.identity()));
+    }
+
+    public Role resolve(String name) {
+        Role role = roles.get(name);
+        return role != null ? role : create(name);
+    }
+
+    private Role create(String name) {
+
+        createLock.lock();
+        try {
+            Role role = roles.get(name);
+            if (role != null)
+                return role;
+
+            Optional<Role> existing = roleRepo.findByName(name);
+            if (existing.isPresent()) {
+                publish(existing.get());
+                return existing.get();
+            }
+
+            Role created = roleRepo.save(new Role(name));
+
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        publish(created);
+                    }
+                });
+            } else {
+                publish(created);
+            }
+
+            return created;
+        } finally {
+            createLock.unlock();
+        }
+    }
+
+    private void publish(Role role) {
+
+        createLock.lock();
+        try {
+            Map<String, Role> copy = new HashMap<>(roles);
+            copy.putIfAbsent(role.getName(), role);
+            roles = Map.copyOf(copy);
+        } finally {
+            createLock.unlock();
+        }
+    }
+}
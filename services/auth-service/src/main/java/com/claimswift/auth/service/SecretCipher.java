@@ -0,0 +1,91 @@
+package com.claimswift.auth.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * AES-GCM sealing for secrets that have to sit in auth_db, under a key
+ * encryption key that never does.
+ *
+ * The KEK comes from {@code auth.secrets.kek} (base64, 16/24/32 bytes) and
+ * must be the same on every node. Startup fails without one: a per-process
+ * key would leave each node signing with its own key, re-minted on every
+ * restart. Only the dev profile ({@code auth.secrets.ephemeral-kek}) may
+ * run on a random key, for a single node whose sealed rows die with it.
+ */
+@Component
+public class SecretCipher {
+
+    private static final int IV_BYTES = 12;
+    private static final int TAG_BITS = 128;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final SecretKeySpec kek;
+
+    public SecretCipher(@Value("${auth.secrets.kek:}") String kek,
+                        @Value("${auth.secrets.ephemeral-kek:false}") boolean ephemeralAllowed) {
+
+        byte[] raw;
+        if (kek == null || kek.isBlank()) {
+            if (!ephemeralAllowed)
+                throw new IllegalStateException(
+                        "auth.secrets.kek (AUTH_SECRETS_KEK) is not set; run with the dev profile to use a throwaway key");
+            raw = new byte[32];
+            RANDOM.nextBytes(raw);
+        } else {
+            raw = Base64.getDecoder().decode(kek.trim());
+        }
+
+        if (raw.length != 16 && raw.length != 24 && raw.length != 32)
+            throw new IllegalArgumentException("auth.secrets.kek must be a base64 AES key of 16, 24 or 32 bytes");
+
+        this.kek = new SecretKeySpec(raw, "AES");
+    }
+
+    public String seal(String plaintext) {
+        return Base64.getEncoder().encodeToString(seal(plaintext.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    public String open(String sealed) {
+        return new String(open(Base64.getDecoder().decode(sealed)), StandardCharsets.UTF_8);
+    }
+
+    /* IV followed by ciphertext and tag */
+    public byte[] seal(byte[] plaintext) {
+        try {
+            byte[] iv = new byte[IV_BYTES];
+            RANDOM.nextBytes(iv);
+
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.ENCRYPT_MODE, kek, new GCMParameterSpec(TAG_BITS, iv));
+
+            return ByteBuffer.allocate(IV_BYTES + cipher.getOutputSize(plaintext.length))
+                    .put(iv)
+                    .put(cipher.doFinal(plaintext))
+                    .array();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot seal secret", e);
+        }
+    }
+
+    /* Fails on a wrong KEK or a tampered value, never returns garbage */
+    public byte[] open(byte[] sealed) {
+        try {
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.DECRYPT_MODE, kek, new GCMParameterSpec(TAG_BITS, sealed, 0, IV_BYTES));
+            return cipher.doFinal(sealed, IV_BYTES, sealed.length - IV_BYTES);
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("Cannot open sealed secret", e);
+        }
+    }
+}
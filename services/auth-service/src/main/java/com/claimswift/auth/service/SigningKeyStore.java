@@ -0,0 +1,284 @@
+package com.claimswift.auth.service;
+
+import com.claimswift.auth.entity.SigningKey;
+import com.claimswift.auth.repository.SigningKeyRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * RSA signing keys with scheduled rotation.
+ *
+ * A new key is created every {@code rotation-interval-ms} but only starts
+ * signing {@code publish-ahead-ms} later, so every verifier has fetched it
+ * from the key set by the time the first token carries its kid. The old key
+ * stays published until the last token it signed has expired. Keys live in
+ * auth_db so all nodes sign with, and publish, the same set; private halves
+ * are sealed with {@link SecretCipher}, so a dump of the table cannot mint
+ * tokens.
+ *
+ * Each key takes a rotation slot under a unique index. Nodes that rotate at
+ * the same moment compute the same slot, one insert wins and the others
+ * adopt its key on re-read.
+ */
+@Service
+public class SigningKeyStore extends SigningKeyResolverAdapter {
+
+    private static final int KEY_SIZE = 2048;
+
+    private final SigningKeyRepository repository;
+    private final SecretCipher cipher;
+    private final long rotationMs;
+    private final long publishAheadMs;
+    private final long maxTokenTtlMs;
+
+    /* Ordered by activation time, oldest first */
+    private volatile List<LoadedKey> keys = List.of();
+    private volatile Map<String, PublicKey> publicKeys = Map.of();
+
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    public SigningKeyStore(
+            SigningKeyRepository repository,
+            SecretCipher cipher,
+            @Value("${auth.jwt.keys.rotation-interval-ms:86400000}") long rotationMs,
+            @Value("${auth.jwt.keys.publish-ahead-ms:900000}") long publishAheadMs,
+            // Old keys must outlive the longest token they signed, which is an access token
+            @Value("${auth.jwt.access-token-ttl-ms:900000}") long maxTokenTtlMs) {
+        this.repository = repository;
+        this.cipher = cipher;
+        this.rotationMs = rotationMs;
+        this.publishAheadMs = publishAheadMs;
+        this.maxTokenTtlMs = maxTokenTtlMs;
+    }
+
+    /* ================= SIGNING ================= */
+    public LoadedKey current() {
+
+        long now = System.currentTimeMillis();
+        List<LoadedKey> snapshot = keys;
+
+        for (int i = snapshot.size() - 1; i >= 0; i--) {
+            if (snapshot.get(i).activatesAt() <= now && snapshot.get(i).privateKey() != null)
+                return snapshot.get(i);
+        }
+        throw new IllegalStateException("No active signing key");
+    }
+
+    /* ================= VERIFICATION ================= */
+    @Override
+    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+        // Unknown kid: null makes the parser reject the token
+        String kid = header.getKeyId();
+        return kid == null ? null : publicKeys.get(kid);
+    }
+
+    /* Public half of every key a valid token can carry, in JWK form */
+    public List<Map<String, Object>> jwks() {
+
+        List<Map<String, Object>> jwks = new ArrayList<>();
+
+        for (LoadedKey key : keys) {
+            RSAPublicKey rsa = (RSAPublicKey) key.publicKey();
+            Map<String, Object> jwk = new LinkedHashMap<>();
+            jwk.put("kty", "RSA");
+            jwk.put("kid", key.kid());
+            jwk.put("use", "sig");
+            jwk.put("alg", "RS256");
+            jwk.put("n", base64Url(rsa.getModulus()));
+            jwk.put("e", base64Url(rsa.getPublicExponent()));
+            jwks.add(jwk);
+        }
+        return jwks;
+    }
+
+    /* ================= ROTATION ================= */
+    @PostConstruct
+    public void init() {
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${auth.jwt.keys.refresh-interval-ms:60000}")
+    public void refresh() {
+        refresh(System.currentTimeMillis());
+    }
+
+    void refresh(long now) {
+        refreshLock.lock();
+        try {
+            doRefresh(now);
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private void doRefresh(long now) {
+
+        List<SigningKey> rows = new ArrayList<>(repository.findAllByOrderByActivatesAtAsc());
+        Map<String, LoadedKey> opened = new HashMap<>();
+        keys.forEach(k -> opened.put(k.kid(), k));
+        open(rows, opened);
+
+        SigningKey created = null;
+        if (rows.isEmpty()) {
+            // First start: nobody can hold a token yet, so sign right away
+            created = generate(now, now, slot(now, null));
+        } else if (rows.stream().noneMatch(r -> opened.get(r.getKid()).privateKey() != null)) {
+            // Sealed under another KEK: nothing here can sign, so the new key must at once
+            created = generate(now, now, slot(now, newest(rows)));
+        } else if (newest(rows).getCreatedAt() + rotationMs <= now) {
+            created = generate(now, now + publishAheadMs, slot(now, newest(rows)));
+        }
+
+        if (created != null) {
+            try {
+                repository.save(created);
+            } catch (DataIntegrityViolationException e) {
+                // Another node took this rotation slot first; its key is picked up below
+            }
+            rows = new ArrayList<>(repository.findAllByOrderByActivatesAtAsc());
+            open(rows, opened);
+        }
+
+        // A key is dead once its successor has signed for a full token lifetime
+        while (rows.size() > 1 && rows.get(1).getActivatesAt() + maxTokenTtlMs <= now) {
+            repository.delete(rows.remove(0));
+        }
+
+        List<LoadedKey> loaded = new ArrayList<>(rows.size());
+        Map<String, PublicKey> byKid = new LinkedHashMap<>();
+        for (SigningKey row : rows) {
+            LoadedKey key = opened.get(row.getKid());
+            loaded.add(key);
+            byKid.put(key.kid(), key.publicKey());
+        }
+
+        keys = List.copyOf(loaded);
+        publicKeys = Map.copyOf(byKid);
+    }
+
+    private static SigningKey newest(List<SigningKey> rows) {
+        return rows.stream()
+                .max(Comparator.comparingLong(SigningKey::getCreatedAt))
+                .orElseThrow();
+    }
+
+    /* The same for every node rotating away from the same newest key */
+    private long slot(long now, SigningKey newest) {
+
+        long period = rotationMs > 0 ? now / rotationMs : 0;
+        if (newest == null)
+            return period;
+
+        long previous = newest.getRotationSlot() != null
+                ? newest.getRotationSlot()
+                : rotationMs > 0 ? newest.getCreatedAt() / rotationMs : 0;
+        return Math.max(period, previous + 1);
+    }
+
+    private SigningKey generate(long now, long activatesAt, long slot) {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(KEY_SIZE);
+            KeyPair pair = generator.generateKeyPair();
+
+            Base64.Encoder b64 = Base64.getEncoder();
+            return SigningKey.builder()
+                    .kid(UUID.randomUUID().toString())
+                    .publicKey(b64.encodeToString(pair.getPublic().getEncoded()))
+                    .privateKey(b64.encodeToString(cipher.seal(pair.getPrivate().getEncoded())))
+                    .createdAt(now)
+                    .activatesAt(activatesAt)
+                    .rotationSlot(slot)
+                    .build();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot generate signing key", e);
+        }
+    }
+
+    /*
+     * A kid's key material never changes, so only rows missing from opened
+     * are decoded; each key is opened once per process. Rows written before
+     * sealing hold clear PKCS#8; they are sealed in place here, once, which
+     * is the whole migration.
+     */
+    private void open(List<SigningKey> rows, Map<String, LoadedKey> opened) {
+
+        for (SigningKey row : rows) {
+            if (!opened.containsKey(row.getKid())) {
+                byte[] stored = Base64.getDecoder().decode(row.getPrivateKey());
+                PrivateKey privateKey = unseal(stored);
+                if (privateKey == null && (privateKey = parse(stored)) != null) {
+                    row.setPrivateKey(Base64.getEncoder().encodeToString(cipher.seal(stored)));
+                    repository.save(row);
+                }
+                opened.put(row.getKid(),
+                        new LoadedKey(row.getKid(), publicKey(row), privateKey, row.getActivatesAt()));
+            }
+        }
+    }
+
+    private static PublicKey publicKey(SigningKey row) {
+        try {
+            return KeyFactory.getInstance("RSA")
+                    .generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(row.getPublicKey())));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Corrupt signing key " + row.getKid(), e);
+        }
+    }
+
+    /* A key sealed under another KEK is still published, it just cannot sign here */
+    private PrivateKey unseal(byte[] stored) {
+        try {
+            return parse(cipher.open(stored));
+        } catch (IllegalStateException e) {
+            return null;
+        }
+    }
+
+    private static PrivateKey parse(byte[] pkcs8) {
+        try {
+            return KeyFactory.getInstance("RSA").generatePrivate(new PKCS8EncodedKeySpec(pkcs8));
+        } catch (GeneralSecurityException e) {
+            return null;
+        }
+    }
+
+    /* JWK integers are unsigned big-endian, without the sign byte BigInteger may add */
+    private static String base64Url(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0)
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    public record LoadedKey(String kid, PublicKey publicKey, PrivateKey privateKey, long activatesAt) {
+    }
+}
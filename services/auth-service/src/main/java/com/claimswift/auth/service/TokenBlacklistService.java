@@ -1,20 +1,241 @@
 package com.claimswift.auth.service;
 
+import com.claimswift.auth.dto.RevocationFeedResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import java.util.Set;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * Revoked (logged out) tokens.
+ *
+ * Only a fixed-size SHA-256 digest and the token's expiry are kept. A token
+ * that has expired is rejected by signature validation anyway, so its entry
+ * is swept once the expiry bucket it belongs to has passed.
+ *
+ * Lookups go through one Bloom filter per expiry hour first, so the common
+ * "not revoked" answer costs a few bit probes and no SHA-256. Filters are
+ * dropped whole when their hour has passed and never need clearing.
+ *
+ * This is only the node-local view. Revocations are made durable and shared
+ * between nodes by {@link RevocationLogService}, whose table ids double as
+ * the sequence numbers of the replication feed.
+ */
 @Service
 public class TokenBlacklistService {
 
-    private final Set<String> blacklist =
-            ConcurrentHashMap.newKeySet();
+    private static final int MAX_FEED_PAGE = 1000;
+
+    /* Width of one expiry bucket; entries live at most this long past exp */
+    private static final long BUCKET_MS = 60_000;
+
+    /* Width of one Bloom filter generation */
+    private static final long GENERATION_MS = 60 * 60_000;
+
+    private final int bloomExpectedInsertions;
+    private final double bloomFalsePositiveRate;
+
+    private final ConcurrentSkipListMap<Long, RevocationBloomFilter> generations =
+            new ConcurrentSkipListMap<>();
+
+    private final LongAdder bloomNegatives = new LongAdder();
+    private final LongAdder exactLookups = new LongAdder();
+
+    private final Map<Digest, Revocation> revoked =
+            new ConcurrentHashMap<>();
+
+    /* Revocations grouped by the minute their token expires */
+    private final ConcurrentSkipListMap<Long, Queue<Revocation>> expiryBuckets =
+            new ConcurrentSkipListMap<>();
 
-    public void blacklist(String token){
-        blacklist.add(token);
+    /* Ordered log of revocations, replicated to other services */
+    private final ConcurrentSkipListMap<Long, Revocation> revocationLog =
+            new ConcurrentSkipListMap<>();
+
+    /* Sequences come from auth_db, so they survive restarts and agree across nodes */
+    private static final String EPOCH = "auth_db.revoked_tokens";
+
+    /* Sequence up to which the local log is known to have no holes */
+    private volatile long replicatedThrough;
+
+    public TokenBlacklistService() {
+        this(10_000, 0.001);
+    }
+
+    @Autowired
+    public TokenBlacklistService(
+            @Value("${auth.blacklist.bloom.expected-insertions:10000}") int expectedInsertions,
+            @Value("${auth.blacklist.bloom.false-positive-rate:0.001}") double falsePositiveRate) {
+        this.bloomExpectedInsertions = expectedInsertions;
+        this.bloomFalsePositiveRate = falsePositiveRate;
+    }
+
+    /* Idempotent; returns false when the digest was already known or has expired */
+    public boolean apply(long sequence, String digestHex, long bloomKey, long expiresAt){
+
+        // Already unusable, nothing to remember
+        if (expiresAt <= System.currentTimeMillis())
+            return false;
+
+        Digest digest = Digest.fromHex(digestHex);
+
+        if (revoked.containsKey(digest))
+            return false;
+
+        // Filter first, so a lookup never finds the entry but misses the bits
+        generations
+                .computeIfAbsent(expiresAt / GENERATION_MS, g ->
+                        new RevocationBloomFilter(bloomExpectedInsertions, bloomFalsePositiveRate))
+                .put(bloomKey);
+
+        Revocation r = new Revocation(digest, sequence, expiresAt);
+        if (revoked.putIfAbsent(digest, r) != null)
+            return false;
+
+        revocationLog.put(sequence, r);
+        expiryBuckets
+                .computeIfAbsent(expiresAt / BUCKET_MS, b -> new ConcurrentLinkedQueue<>())
+                .add(r);
+        return true;
+    }
+
+    public void advanceReplicatedThrough(long sequence) {
+        if (sequence > replicatedThrough)
+            replicatedThrough = sequence;
+    }
+
+    public long replicatedThrough() {
+        return replicatedThrough;
     }
 
     public boolean isBlacklisted(String token){
-        return blacklist.contains(token);
+
+        // With short-lived tokens the set is usually empty; skip even the hash
+        if (revoked.isEmpty())
+            return false;
+
+        if (!mightBeRevoked(RevocationBloomFilter.hash(token))) {
+            bloomNegatives.increment();
+            return false;
+        }
+
+        exactLookups.increment();
+        return revoked.containsKey(Digest.of(token));
+    }
+
+    private boolean mightBeRevoked(long bloomKey) {
+        for (RevocationBloomFilter filter : generations.values()) {
+            if (filter.mightContain(bloomKey))
+                return true;
+        }
+        return false;
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    public int expiryBucketCount() {
+        return expiryBuckets.size();
+    }
+
+    public int bloomGenerationCount() {
+        return generations.size();
+    }
+
+    public long bloomNegativeCount() {
+        return bloomNegatives.sum();
+    }
+
+    public long exactLookupCount() {
+        return exactLookups.sum();
+    }
+
+    /* ================= EXPIRY SWEEP ================= */
+    @Scheduled(fixedDelayString = "${auth.blacklist.sweep-interval-ms:60000}")
+    public void sweepExpired() {
+        sweep(System.currentTimeMillis());
+    }
+
+    /* Drops every bucket that ended before now; returns the number of entries removed */
+    public int sweep(long now) {
+
+        ConcurrentNavigableMap<Long, Queue<Revocation>> expired =
+                expiryBuckets.headMap(now / BUCKET_MS);
+
+        int removed = 0;
+        Map.Entry<Long, Queue<Revocation>> bucket;
+
+        while ((bucket = expired.pollFirstEntry()) != null) {
+            for (Revocation r : bucket.getValue()) {
+                revoked.remove(r.digest(), r);
+                revocationLog.remove(r.sequence());
+                removed++;
+            }
+        }
+
+        // A generation ends on a bucket boundary, so its entries are gone too
+        generations.headMap(now / GENERATION_MS).clear();
+
+        return removed;
+    }
+
+    /* ================= REPLICATION FEED ================= */
+    public RevocationFeedResponse revokedSince(long after) {
+
+        List<RevocationFeedResponse.Entry> entries = new ArrayList<>();
+        long last = after;
+        long through = replicatedThrough;
+
+        if (after >= through)
+            return new RevocationFeedResponse(EPOCH, after, entries);
+
+        // Never hand out a sequence past a hole, or a follower would skip it
+        for (Revocation r : revocationLog.subMap(after, false, through, true).values()) {
+            if (entries.size() >= MAX_FEED_PAGE)
+                break;
+            entries.add(new RevocationFeedResponse.Entry(r.digest().toHex(), r.expiresAt()));
+            last = r.sequence();
+        }
+
+        return new RevocationFeedResponse(EPOCH, last, entries);
+    }
+
+    private record Revocation(Digest digest, long sequence, long expiresAt) {
+    }
+
+    /* SHA-256 held as four longs: 48 bytes per entry, no backing array */
+    private record Digest(long h0, long h1, long h2, long h3) {
+
+        static Digest of(String token) {
+            ByteBuffer buf = ByteBuffer.wrap(TokenDigest.sha256(token));
+            return new Digest(buf.getLong(), buf.getLong(), buf.getLong(), buf.getLong());
+        }
+
+        static Digest fromHex(String hex) {
+            return new Digest(
+                    HexFormat.fromHexDigitsToLong(hex, 0, 16),
+                    HexFormat.fromHexDigitsToLong(hex, 16, 32),
+                    HexFormat.fromHexDigitsToLong(hex, 32, 48),
+                    HexFormat.fromHexDigitsToLong(hex, 48, 64));
+        }
+
+        String toHex() {
+            HexFormat hex = HexFormat.of();
+            return hex.toHexDigits(h0) + hex.toHexDigits(h1)
+                    + hex.toHexDigits(h2) + hex.toHexDigits(h3);
+        }
     }
 }
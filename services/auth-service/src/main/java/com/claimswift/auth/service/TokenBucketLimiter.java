@@ -0,0 +1,70 @@
+package com.claimswift.auth.service;
+
+/**
+ * Token buckets keyed by an arbitrary string, refilled lazily on access.
+ *
+ * A bucket holds at most {@code capacity} tokens and gains
+ * {@code refillPerSecond} of them per second, computed from the elapsed time
+ * when it is next touched, so idle buckets cost nothing. Buckets live in a
+ * bounded LRU: to make room, the least recently used bucket is dropped only
+ * if it has been idle long enough to be full again, since forgetting it
+ * changes no answer. When even that bucket is still draining, the new key
+ * is refused, so rotating keys can neither free a throttled bucket nor
+ * cost more than O(1) per check.
+ */
+public final class TokenBucketLimiter {
+
+    private final double capacity;
+    private final double refillPerNano;
+    private final long idleNanos;
+
+    private final LruCache<String, Bucket> buckets;
+
+    public TokenBucketLimiter(int capacity, double refillPerSecond, int maxKeys) {
+        this.capacity = capacity;
+        this.refillPerNano = refillPerSecond / 1_000_000_000d;
+        this.idleNanos = (long) Math.ceil(capacity / refillPerNano);
+        this.buckets = new LruCache<>(Math.max(1, maxKeys), b -> b.idleSince(System.nanoTime()) >= idleNanos);
+    }
+
+    public boolean tryAcquire(String key) {
+
+        long now = System.nanoTime();
+
+        // Full of buckets still draining: fail closed rather than forget one
+        Bucket bucket = buckets.getOrAdmit(key, k -> new Bucket(capacity, now));
+        return bucket != null && bucket.tryTake(now);
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    private final class Bucket {
+
+        private double tokens;
+        private long lastRefill;
+
+        Bucket(double tokens, long now) {
+            this.tokens = tokens;
+            this.lastRefill = now;
+        }
+
+        /* Nothing inside blocks, so the monitor is held for a few nanoseconds */
+        synchronized boolean tryTake(long now) {
+
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * refillPerNano);
+            lastRefill = now;
+
+            if (tokens < 1)
+                return false;
+
+            tokens -= 1;
+            return true;
+        }
+
+        synchronized long idleSince(long now) {
+            return now - lastRefill;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.claimswift.auth.service;
+
+import com.claimswift.auth.entity.Role;
+import com.claimswift.auth.entity.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Immutable view of the fields the login path needs, safe to share between
+ * requests. Changes go to the database and invalidate the cached copy.
+ */
+public record UserSnapshot(
+        Long id,
+        String username,
+        String passwordHash,
+        String email,
+        boolean accountNonLocked,
+        boolean mfaEnabled,
+        int failedAttempts,
+        List<String> roles,
+        String otpHash,
+        LocalDateTime otpExpiry) {
+
+    public static UserSnapshot of(User user) {
+        return new UserSnapshot(
+                user.getId(),
+                user.getUsername(),
+                user.getPassword(),
+                user.getEmail(),
+                user.isAccountNonLocked(),
+                user.isMfaEnabled(),
+                user.getFailedAttempts(),
+                user.getRoles().stream().map(Role::getName).toList(),
+                user.getOtpHash(),
+                user.getOtpExpiry());
+    }
+}
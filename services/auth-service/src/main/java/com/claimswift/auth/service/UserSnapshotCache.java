@@ -0,0 +1,101 @@
+package com.claimswift.auth.service;
+
+import com.claimswift.auth.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Read-through cache of {@link UserSnapshot}s keyed by username.
+ *
+ * Every write to a user goes through {@link #invalidate(String)}, which
+ * evicts immediately and again after the surrounding transaction commits,
+ * so a concurrent reader cannot re-cache the pre-commit row. Other nodes
+ * only see the change once their copy's TTL runs out.
+ */
+@Component
+public class UserSnapshotCache {
+
+    private final UserRepository userRepo;
+    private final int maxSize;
+    private final long ttlMs;
+
+    private final LruCache<String, Entry> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public UserSnapshotCache(
+            UserRepository userRepo,
+            @Value("${auth.user-cache.max-size:10000}") int maxSize,
+            @Value("${auth.user-cache.ttl-ms:30000}") long ttlMs) {
+        this.userRepo = userRepo;
+        this.maxSize = maxSize;
+        this.ttlMs = ttlMs;
+        this.entries = new LruCache<>(Math.max(1, maxSize));
+    }
+
+    /* ================= LOOKUP ================= */
+    public Optional<UserSnapshot> get(String username) {
+
+        Entry entry = entries.get(username);
+
+        if (entry != null && entry.loadedAt() + ttlMs > System.currentTimeMillis()) {
+            hits.increment();
+            return Optional.of(entry.user());
+        }
+
+        misses.increment();
+        return reload(username);
+    }
+
+    /* Bypasses the cached copy, e.g. when it may predate a write on another node */
+    public Optional<UserSnapshot> reload(String username) {
+
+        Optional<UserSnapshot> user = userRepo.findByUsername(username).map(UserSnapshot::of);
+
+        // Unknown usernames are not cached, they would only crowd out real users
+        if (user.isPresent() && maxSize > 0) {
+            entries.put(username, new Entry(user.get(), System.currentTimeMillis()));
+        } else {
+            entries.remove(username);
+        }
+
+        return user;
+    }
+
+    /* ================= INVALIDATION ================= */
+    public void invalidate(String username) {
+
+        entries.remove(username);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    entries.remove(username);
+                }
+            });
+        }
+    }
+
+    /* ================= STATS ================= */
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private record Entry(UserSnapshot user, long loadedAt) {
+    }
+}
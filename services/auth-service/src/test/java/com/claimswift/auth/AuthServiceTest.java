@@ -1,5 +1,269 @@
 package com.claimswift.auth;
 
+import com.claimswift.auth.dto.AuthResponse;
+import com.claimswift.auth.dto.LoginRequest;
+import com.claimswift.auth.dto.LoginResponse;
+import com.claimswift.auth.dto.MfaVerifyRequest;
+import com.claimswift.auth.dto.RefreshRequest;
+import com.claimswift.auth.dto.RegisterRequest;
+import com.claimswift.auth.entity.Role;
+import com.claimswift.auth.entity.User;
+import com.claimswift.auth.exception.AccountLockedException;
+import com.claimswift.auth.exception.InvalidCredentialsException;
+import com.claimswift.auth.exception.InvalidOtpException;
+import com.claimswift.auth.exception.InvalidTokenException;
+import com.claimswift.auth.repository.RoleRepository;
+import com.claimswift.auth.repository.UserRepository;
+import com.claimswift.auth.service.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
 public class AuthServiceTest {
 
+    private final BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(4);
+
+    private final UserRepository userRepo = mock(UserRepository.class);
+    private final RoleRepository roleRepo = mock(RoleRepository.class);
+    private final EmailService emailService = mock(EmailService.class);
+    private final RefreshTokenService refreshTokens = mock(RefreshTokenService.class);
+    private final PlatformTransactionManager txManager = mock(PlatformTransactionManager.class);
+
+    private PasswordHashingService hasher;
+    private RoleRegistry roleRegistry;
+    private AuthService authService;
+
+    @BeforeEach
+    void setUp() {
+
+        when(roleRepo.findAll()).thenReturn(List.of(role(1L, "USER"), role(2L, "ADMIN")));
+
+        hasher = new PasswordHashingService(bcrypt, 2, 16, 5000);
+        roleRegistry = new RoleRegistry(roleRepo);
+        roleRegistry.load();
+
+        authService = new AuthService(
+                userRepo,
+                new UserSnapshotCache(userRepo, 100, 60_000),
+                roleRegistry,
+                mock(LoginAuditWriter.class),
+                new LoginAttemptTracker(3, 900_000, 5_000, 1000),
+                hasher,
+                new JwtService(new JwtClaimsCache(100), TestSigningKeys.store()),
+                new TokenBlacklistService(),
+                mock(RevocationLogService.class),
+                refreshTokens,
+                emailService,
+                new TransactionTemplate(txManager));
+    }
+
+    @AfterEach
+    void tearDown() {
+        hasher.shutdown();
+    }
+
+    @Test
+    void loginBurst_readsUserOnce() {
+
+        when(userRepo.findByUsername("john")).thenReturn(Optional.of(user("john", false)));
+
+        int logins = 200;
+        for (int i = 0; i < logins; i++) {
+            LoginResponse response = authService.login(new LoginRequest("john", "secret"));
+            assertFalse(response.isMfaRequired());
+        }
+
+        // Was one user+roles read and one save per login before the cache
+        verify(userRepo, times(1)).findByUsername("john");
+        verify(userRepo, never()).save(any());
+        verify(userRepo, never()).updateLockState(anyString(), anyInt(), anyBoolean(), any());
+    }
+
+    @Test
+    void register_resolvesRolesWithoutQueries() {
+
+        when(userRepo.existsByUsername(anyString())).thenReturn(false);
+
+        for (int i = 0; i < 10; i++)
+            authService.register(new RegisterRequest("user" + i, "secret",
+                    "user" + i + "@test.local", Set.of("USER", "ADMIN")));
+
+        verify(roleRepo, never()).findByName(anyString());
+        verify(roleRepo, never()).save(any());
+        verify(roleRepo, times(1)).findAll();
+    }
+
+    @Test
+    void register_writesRoleAndUserInOneTransaction() {
+
+        when(userRepo.existsByUsername("jane")).thenReturn(false);
+        when(roleRepo.findByName("MANAGER")).thenReturn(Optional.empty());
+        when(roleRepo.save(any())).thenAnswer(inv -> inv.getArgument(0));
+
+        authService.register(new RegisterRequest("jane", "secret", "jane@test.local", Set.of("MANAGER")));
+
+        InOrder order = inOrder(txManager, roleRepo, userRepo);
+        order.verify(txManager).getTransaction(any());
+        order.verify(roleRepo).save(any());
+        order.verify(userRepo).save(any());
+        order.verify(txManager).commit(any());
+        verify(txManager, times(1)).getTransaction(any());
+    }
+
+    @Test
+    void mfaLogin_writesOtpAndMailInOneTransaction() {
+
+        when(userRepo.findByUsername("john")).thenReturn(Optional.of(user("john", true)));
+
+        assertTrue(authService.login(new LoginRequest("john", "secret")).isMfaRequired());
+
+        InOrder order = inOrder(txManager, userRepo, emailService);
+        order.verify(txManager).getTransaction(any());
+        order.verify(userRepo).updateOtp(eq("john"), anyString(), any());
+        order.verify(emailService).sendOtp(eq("john@test.local"), anyString());
+        order.verify(txManager).commit(any());
+        verify(txManager, times(1)).getTransaction(any());
+    }
+
+    @Test
+    void roleCreatedInRolledBackTransaction_isNotCached() {
+
+        when(roleRepo.findByName("MANAGER")).thenReturn(Optional.empty());
+        when(roleRepo.save(any())).thenAnswer(inv -> inv.getArgument(0));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            roleRegistry.resolve("MANAGER");
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Not published, so the next caller looks the role up again
+        roleRegistry.resolve("MANAGER");
+        verify(roleRepo, times(2)).findByName("MANAGER");
+    }
+
+    @Test
+    void failedLogins_writeOnlyOnLock() {
+
+        when(userRepo.findByUsername("john")).thenReturn(Optional.of(user("john", false)));
+
+        for (int i = 0; i < 2; i++)
+            assertThrows(InvalidCredentialsException.class,
+                    () -> authService.login(new LoginRequest("john", "wrong")));
+
+        verify(userRepo, never()).updateLockState(anyString(), anyInt(), anyBoolean(), any());
+
+        assertThrows(AccountLockedException.class,
+                () -> authService.login(new LoginRequest("john", "wrong")));
+        verify(userRepo).updateLockState(eq("john"), eq(3), eq(false), any());
+
+        // Cached copy was invalidated, so the lock is re-read
+        assertThrows(AccountLockedException.class,
+                () -> authService.login(new LoginRequest("john", "secret")));
+        verify(userRepo, times(2)).findByUsername("john");
+    }
+
+    @Test
+    void verifyMfa_rereadsUserWhenCachedCopyHasNoOtp() {
+
+        User cached = user("john", false);
+        User fresh = user("john", true);
+        fresh.setOtpHash(bcrypt.encode("123456"));
+        fresh.setOtpExpiry(LocalDateTime.now().plusMinutes(5));
+
+        when(userRepo.findByUsername("john"))
+                .thenReturn(Optional.of(cached))
+                .thenReturn(Optional.of(fresh));
+        when(userRepo.consumeOtp(eq("john"), eq(fresh.getOtpHash()), any())).thenReturn(1);
+
+        // Caches a copy taken before the OTP was issued
+        authService.login(new LoginRequest("john", "secret"));
+
+        assertEquals("MFA verified",
+                authService.verifyMfa(new MfaVerifyRequest("john", "123456")).getMessage());
+
+        verify(userRepo).consumeOtp(eq("john"), eq(fresh.getOtpHash()), any());
+    }
+
+    @Test
+    void verifyMfa_replayedCode_isRejected() {
+
+        User user = user("john", true);
+        user.setOtpHash(bcrypt.encode("123456"));
+        user.setOtpExpiry(LocalDateTime.now().plusMinutes(5));
+
+        when(userRepo.findByUsername("john")).thenReturn(Optional.of(user));
+
+        // Another node consumed the code after this read
+        when(userRepo.consumeOtp(eq("john"), anyString(), any())).thenReturn(0);
+
+        assertThrows(InvalidOtpException.class,
+                () -> authService.verifyMfa(new MfaVerifyRequest("john", "123456")));
+        verify(refreshTokens, never()).issue(anyString());
+    }
+
+    @Test
+    void refresh_rotatesAndIssuesFreshAccessToken() throws Exception {
+
+        when(userRepo.findByUsername("john")).thenReturn(Optional.of(user("john", false)));
+        when(refreshTokens.issue("john")).thenReturn("r1");
+        when(refreshTokens.rotate("r1")).thenReturn(new RefreshTokenService.Rotation("john", "r2"));
+
+        assertEquals("r1", authService.login(new LoginRequest("john", "secret")).getRefreshToken());
+
+        AuthResponse refreshed = authService.refresh(new RefreshRequest("r1"));
+
+        assertEquals("r2", refreshed.getRefreshToken());
+        assertEquals(List.of("USER"), refreshed.getRoles());
+        assertNotNull(refreshed.getToken());
+    }
+
+    @Test
+    void refresh_forLockedUser_dropsSession() throws Exception {
+
+        User locked = user("john", false);
+        locked.setAccountNonLocked(false);
+        when(userRepo.findByUsername("john")).thenReturn(Optional.of(locked));
+        when(refreshTokens.rotate("r1")).thenReturn(new RefreshTokenService.Rotation("john", "r2"));
+
+        assertThrows(InvalidTokenException.class,
+                () -> authService.refresh(new RefreshRequest("r1")));
+        verify(refreshTokens).revoke("r2");
+    }
+
+    private User user(String username, boolean mfa) {
+        User user = new User();
+        user.setId(1L);
+        user.setUsername(username);
+        user.setPassword(bcrypt.encode("secret"));
+        user.setEmail(username + "@test.local");
+        user.setAccountNonLocked(true);
+        user.setMfaEnabled(mfa);
+        user.setRoles(Set.of(role(1L, "USER")));
+        return user;
+    }
+
+    private static Role role(Long id, String name) {
+        Role role = new Role(name);
+        role.setId(id);
+        return role;
+    }
 }
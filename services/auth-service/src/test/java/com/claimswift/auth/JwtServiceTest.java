@@ -0,0 +1,175 @@
+package com.claimswift.auth;
+
+import com.claimswift.auth.service.JwtClaimsCache;
+import com.claimswift.auth.service.JwtService;
+import com.claimswift.auth.service.SigningKeyStore;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtServiceTest {
+
+    @Test
+    void accessors_parseTokenOnlyOnce() {
+
+        JwtClaimsCache cache = new JwtClaimsCache(100);
+        JwtService jwtService = new JwtService(cache, TestSigningKeys.store());
+
+        String token = jwtService.generateToken("john", List.of("USER"));
+
+        assertTrue(jwtService.isValid(token));
+        assertEquals("john", jwtService.extractUsername(token));
+        assertEquals(List.of("USER"), jwtService.extractRoles(token));
+
+        assertEquals(1, cache.missCount());
+        assertEquals(2, cache.hitCount());
+    }
+
+    @Test
+    void invalidToken_isNotCached() {
+
+        JwtClaimsCache cache = new JwtClaimsCache(100);
+        JwtService jwtService = new JwtService(cache, TestSigningKeys.store());
+
+        assertFalse(jwtService.isValid("not-a-token"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void expiredClaims_areDropped() {
+
+        JwtClaimsCache cache = new JwtClaimsCache(100);
+
+        Claims expired = Jwts.claims().setSubject("john");
+        expired.setExpiration(new Date(System.currentTimeMillis() - 1000));
+
+        cache.put("token", expired);
+
+        assertNull(cache.get("token"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void cache_isBoundedBySize() {
+
+        JwtClaimsCache cache = new JwtClaimsCache(2);
+
+        for (int i = 0; i < 10; i++) {
+            Claims claims = Jwts.claims().setSubject("user" + i);
+            claims.setExpiration(new Date(System.currentTimeMillis() + 60_000));
+            cache.put("token" + i, claims);
+        }
+
+        assertTrue(cache.size() <= 2);
+        assertNotNull(cache.get("token9"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void cachedClaims_cannotBeChangedByCallers() {
+
+        JwtClaimsCache cache = new JwtClaimsCache(100);
+
+        Claims claims = Jwts.claims().setSubject("john");
+        claims.setExpiration(new Date(System.currentTimeMillis() + 60_000));
+        claims.put("roles", new ArrayList<>(List.of("USER")));
+        cache.put("token", claims);
+
+        // Neither the original nor a handed-out copy reaches the cached entry
+        claims.setSubject("mallory");
+        Claims hit = cache.get("token");
+        hit.setSubject("mallory");
+        assertThrows(UnsupportedOperationException.class,
+                () -> ((List<String>) hit.get("roles")).add("ADMIN"));
+
+        assertEquals("john", cache.get("token").getSubject());
+        assertEquals(List.of("USER"), cache.get("token").get("roles"));
+    }
+
+    // Timing only, printed for comparison; run with -Pbenchmark
+    @Test
+    @Tag("benchmark")
+    void benchmark_cachedClaimsAgainstTripleParse() {
+
+        SigningKeyStore store = TestSigningKeys.store();
+        // A cache of size 0 stores nothing: every accessor verifies and parses again
+        JwtService uncached = new JwtService(new JwtClaimsCache(0), store);
+        JwtService cached = new JwtService(new JwtClaimsCache(10_000), store);
+
+        String token = cached.generateToken("john", List.of("USER"));
+
+        measure("validate, triple parse", 20_000, () -> validate(uncached, token));
+        measure("validate, cached claims", 20_000, () -> validate(cached, token));
+    }
+
+    // Timing only, printed for comparison; run with -Pbenchmark
+    @Test
+    @Tag("benchmark")
+    void benchmark_sharedParserAgainstPerCallBuild() {
+
+        // The pattern every service verifier had: key and parser built per call
+        String secret = "mysecretkeymysecretkeymysecretkey_1234";
+        String hmac = Jwts.builder()
+                .setSubject("john")
+                .setExpiration(new Date(System.currentTimeMillis() + 3_600_000))
+                .signWith(Keys.hmacShaKeyFor(secret.getBytes()), SignatureAlgorithm.HS256)
+                .compact();
+        JwtParser hmacParser = Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(secret.getBytes())).build();
+
+        measure("HS256, key and parser per call", 50_000, () -> Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(secret.getBytes()))
+                .build()
+                .parseClaimsJws(hmac));
+        measure("HS256, shared key and parser", 50_000, () -> hmacParser.parseClaimsJws(hmac));
+
+        // The RS256 verifier in use now, resolving the key by kid
+        SigningKeyStore store = TestSigningKeys.store();
+        String token = new JwtService(new JwtClaimsCache(0), store).generateToken("john", List.of("USER"));
+        JwtParser parser = Jwts.parserBuilder().setSigningKeyResolver(store).build();
+
+        measure("RS256, parser per call", 20_000, () -> Jwts.parserBuilder()
+                .setSigningKeyResolver(store)
+                .build()
+                .parseClaimsJws(token));
+        measure("RS256, shared parser", 20_000, () -> parser.parseClaimsJws(token));
+    }
+
+    /* What JwtAuthFilter and /auth/validate do with each request */
+    private static void validate(JwtService jwtService, String token) {
+        if (!jwtService.isValid(token)
+                || !"john".equals(jwtService.extractUsername(token))
+                || jwtService.extractRoles(token).isEmpty())
+            throw new AssertionError("token rejected");
+    }
+
+    /* Warms up, then prints mean latency and bytes allocated per op on this thread */
+    private static void measure(String label, int ops, Runnable op) {
+
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+
+        for (int i = 0; i < ops; i++)
+            op.run();
+
+        long bytes = threads.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+        for (int i = 0; i < ops; i++)
+            op.run();
+        long nanos = System.nanoTime() - start;
+        bytes = threads.getThreadAllocatedBytes(thread) - bytes;
+
+        System.out.printf("%s: %.1f us/op, %d B/op%n", label, nanos / 1e3 / ops, bytes / ops);
+    }
+}
@@ -0,0 +1,147 @@
+package com.claimswift.auth;
+
+import com.claimswift.auth.service.LoginAttemptTracker;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginAttemptTrackerTest {
+
+    @Test
+    void thirdFailure_locksOnce() {
+
+        LoginAttemptTracker tracker = new LoginAttemptTracker(3, 60_000, 5_000, 100);
+
+        assertFalse(tracker.recordFailure("john"));
+        assertFalse(tracker.recordFailure("john"));
+        assertTrue(tracker.recordFailure("john"));
+
+        assertTrue(tracker.isLocked("john"));
+        assertFalse(tracker.recordFailure("john"));
+    }
+
+    @Test
+    void unlockedElsewhere_locksAgain() throws Exception {
+
+        LoginAttemptTracker tracker = new LoginAttemptTracker(3, 60_000, 50, 100);
+
+        tracker.recordFailure("john");
+        tracker.recordFailure("john");
+        assertTrue(tracker.recordFailure("john"));
+
+        // Unlocked on another node: reset() never ran here
+        Thread.sleep(100);
+
+        assertFalse(tracker.recordFailure("john"));
+        assertFalse(tracker.recordFailure("john"));
+        assertTrue(tracker.recordFailure("john"));
+    }
+
+    @Test
+    void storedFailures_seedTheCount() {
+
+        LoginAttemptTracker tracker = new LoginAttemptTracker(3, 60_000, 5_000, 100);
+
+        assertTrue(tracker.recordFailure("john", 2));
+    }
+
+    @Test
+    void success_resetsCount() {
+
+        LoginAttemptTracker tracker = new LoginAttemptTracker(3, 60_000, 5_000, 100);
+
+        tracker.recordFailure("john");
+        tracker.recordFailure("john");
+        tracker.reset("john");
+
+        assertEquals(0, tracker.failureCount("john"));
+        assertFalse(tracker.recordFailure("john"));
+    }
+
+    @Test
+    void failuresOutsideWindow_doNotCount() throws Exception {
+
+        LoginAttemptTracker tracker = new LoginAttemptTracker(3, 50, 5_000, 100);
+
+        tracker.recordFailure("john");
+        tracker.recordFailure("john");
+        Thread.sleep(100);
+
+        assertFalse(tracker.recordFailure("john"));
+        assertEquals(1, tracker.failureCount("john"));
+    }
+
+    @Test
+    void usernameSpray_cannotResetATrackedUser() {
+
+        LoginAttemptTracker tracker = new LoginAttemptTracker(3, 60_000, 5_000, 100);
+
+        tracker.recordFailure("john");
+        tracker.recordFailure("john");
+
+        // Far more throwaway names than the tracker holds
+        for (int i = 0; i < 1_000; i++)
+            tracker.recordFailure("spray-" + i);
+
+        assertEquals(100, tracker.trackedCount());
+        assertEquals(2, tracker.failureCount("john"));
+        assertTrue(tracker.recordFailure("john"));
+    }
+
+    @Test
+    void idleUsers_makeRoomForNewOnes() throws Exception {
+
+        LoginAttemptTracker tracker = new LoginAttemptTracker(3, 50, 5_000, 2);
+
+        tracker.recordFailure("a");
+        tracker.recordFailure("b");
+        Thread.sleep(100);
+
+        tracker.recordFailure("c");
+        assertEquals(1, tracker.failureCount("c"));
+        assertEquals(2, tracker.trackedCount());
+    }
+
+    @Test
+    void parallelBruteForce_locksExactlyOnce() throws Exception {
+
+        LoginAttemptTracker tracker = new LoginAttemptTracker(3, 60_000, 5_000, 100);
+
+        int threads = 16;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+
+        for (int t = 0; t < threads; t++) {
+            results.add(pool.submit(() -> {
+                start.await();
+                int locks = 0;
+                for (int i = 0; i < 100; i++) {
+                    if (tracker.recordFailure("victim"))
+                        locks++;
+                }
+                return locks;
+            }));
+        }
+
+        start.countDown();
+
+        int locks = 0;
+        for (Future<Integer> f : results)
+            locks += f.get();
+
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+
+        assertEquals(1, locks);
+        assertTrue(tracker.isLocked("victim"));
+    }
+}
@@ -0,0 +1,103 @@
+package com.claimswift.auth;
+
+import com.claimswift.auth.entity.LoginAudit;
+import com.claimswift.auth.service.LoginAuditWriter;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class LoginAuditWriterTest {
+
+    private final JdbcTemplate jdbc = mock(JdbcTemplate.class);
+
+    @Test
+    void records_areFlushedInBatches() throws Exception {
+
+        LoginAuditWriter writer = new LoginAuditWriter(jdbc, 1000, 50, 60_000, 20, 100);
+        writer.start();
+
+        for (int i = 0; i < 100; i++)
+            writer.record("user" + (i % 5), i % 2 == 0, "test");
+
+        waitFor(() -> writer.writtenCount() == 100);
+        writer.stop();
+
+        // 100 records, batch size 50: two round trips instead of 100
+        verify(jdbc, times(2)).batchUpdate(anyString(), anyCollection(), eq(50),
+                any(ParameterizedPreparedStatementSetter.class));
+    }
+
+    @Test
+    void partialBatch_isFlushedOnInterval() throws Exception {
+
+        LoginAuditWriter writer = new LoginAuditWriter(jdbc, 1000, 500, 50, 20, 100);
+        writer.start();
+
+        writer.record("john", false, "Invalid password");
+
+        waitFor(() -> writer.writtenCount() == 1);
+        writer.stop();
+    }
+
+    @Test
+    void fullBuffer_dropsInsteadOfBlocking() throws Exception {
+
+        // Writer not started: nothing drains the buffer
+        LoginAuditWriter writer = new LoginAuditWriter(jdbc, 10, 5, 1000, 20, 100);
+
+        for (int i = 0; i < 25; i++)
+            writer.record("john", false, "Invalid password");
+
+        assertEquals(10, writer.bufferedCount());
+        assertEquals(15, writer.droppedCount());
+    }
+
+    @Test
+    void recentFailures_areBoundedAndClearedBySuccess() {
+
+        LoginAuditWriter writer = new LoginAuditWriter(jdbc, 1000, 50, 1000, 3, 100);
+
+        for (int i = 0; i < 5; i++)
+            writer.record("john", false, "attempt " + i);
+
+        List<LoginAudit> failures = writer.recentFailures("john");
+        assertEquals(3, failures.size());
+        assertEquals("attempt 4", failures.get(0).getMessage());
+
+        writer.record("john", true, "Login successful");
+        assertTrue(writer.recentFailures("john").isEmpty());
+    }
+
+    @Test
+    void usernameSpray_keepsTheAttackedUsersTrail() {
+
+        LoginAuditWriter writer = new LoginAuditWriter(jdbc, 100_000, 50, 1000, 3, 100);
+
+        writer.record("idle", false, "Invalid password");
+
+        // Far more names than slots, with the real target hit in between
+        for (int i = 0; i < 1000; i++) {
+            writer.record("spray" + i, false, "Unknown user");
+            if (i % 20 == 0)
+                writer.record("john", false, "Invalid password");
+        }
+
+        assertEquals(3, writer.recentFailures("john").size());
+        assertTrue(writer.recentFailures("idle").isEmpty());
+        assertFalse(writer.recentFailures("spray999").isEmpty());
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline)
+            Thread.sleep(10);
+        assertTrue(condition.getAsBoolean());
+    }
+}
@@ -0,0 +1,165 @@
+package com.claimswift.auth;
+
+import com.claimswift.auth.entity.MailOutbox;
+import com.claimswift.auth.repository.MailOutboxRepository;
+import com.claimswift.auth.service.EmailService;
+import com.claimswift.auth.service.MailOutboxRelay;
+import com.claimswift.auth.service.SecretCipher;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.GreenMailUtil;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.data.domain.Pageable;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class MailOutboxRelayTest {
+
+    private final GreenMail smtp = new GreenMail(ServerSetupTest.SMTP);
+    private final MailOutboxRepository outbox = mock(MailOutboxRepository.class);
+    private final PlatformTransactionManager txManager = mock(PlatformTransactionManager.class);
+    private final SecretCipher cipher = new SecretCipher("", true);
+
+    @BeforeEach
+    void startSmtp() {
+        smtp.start();
+    }
+
+    @AfterEach
+    void stopSmtp() {
+        smtp.stop();
+    }
+
+    @Test
+    void batch_isDeliveredAndBodiesCleared() throws Exception {
+
+        List<MailOutbox> due = List.of(mail("a@test.local"), mail("b@test.local"));
+        when(outbox.claimDue(eq(MailOutbox.Status.PENDING), any(), any(Pageable.class)))
+                .thenReturn(due);
+
+        MailOutboxRelay relay = relay(sender(smtp.getSmtp().getPort()));
+
+        assertEquals(2, relay.relay());
+
+        MimeMessage[] received = smtp.getReceivedMessages();
+        assertEquals(2, received.length);
+        assertEquals("Your OTP Code", received[0].getSubject());
+        assertTrue(GreenMailUtil.getBody(received[0]).contains("123456"));
+
+        for (MailOutbox m : due) {
+            assertEquals(MailOutbox.Status.SENT, m.getStatus());
+            assertNull(m.getPayload());
+        }
+    }
+
+    @Test
+    void smtp_runsBetweenTwoShortTransactions() {
+
+        MailOutbox m = mail("a@test.local");
+        when(outbox.claimDue(eq(MailOutbox.Status.PENDING), any(), any(Pageable.class)))
+                .thenReturn(List.of(m));
+
+        JavaMailSenderImpl sender = spy(sender(smtp.getSmtp().getPort()));
+        relay(sender).relay();
+
+        // Lease committed, then SMTP, then the outcome in a transaction of its own
+        InOrder order = inOrder(txManager, outbox, sender);
+        order.verify(txManager).getTransaction(any());
+        order.verify(outbox).saveAll(any());
+        order.verify(txManager).commit(any());
+        order.verify(sender).send(any(SimpleMailMessage[].class));
+        order.verify(txManager).getTransaction(any());
+        order.verify(outbox).saveAll(any());
+        order.verify(txManager).commit(any());
+    }
+
+    @Test
+    void storedMail_holdsNoClearTextCode() {
+
+        new EmailService(outbox, cipher).sendOtp("a@test.local", "123456");
+
+        ArgumentCaptor<MailOutbox> saved = ArgumentCaptor.forClass(MailOutbox.class);
+        verify(outbox).save(saved.capture());
+
+        assertFalse(saved.getValue().getPayload().contains("123456"));
+        assertEquals("123456", cipher.open(saved.getValue().getPayload()));
+    }
+
+    @Test
+    void unreachableServer_isRetriedThenDeadLettered() {
+
+        MailOutbox m = mail("a@test.local");
+        when(outbox.claimDue(eq(MailOutbox.Status.PENDING), any(), any(Pageable.class)))
+                .thenReturn(List.of(m));
+
+        int port = smtp.getSmtp().getPort();
+        smtp.stop();
+        MailOutboxRelay relay = relay(sender(port));
+
+        assertEquals(0, relay.relay());
+        assertEquals(MailOutbox.Status.PENDING, m.getStatus());
+        assertEquals(1, m.getAttempts());
+        assertTrue(m.getNextAttemptAt().isAfter(LocalDateTime.now()));
+        assertNotNull(m.getPayload());
+
+        relay.relay();
+        relay.relay();
+
+        assertEquals(MailOutbox.Status.DEAD, m.getStatus());
+        assertNull(m.getPayload());
+        assertEquals(1, relay.deadLetterCount());
+    }
+
+    @Test
+    void staleOtpMail_isDeadLetteredWithoutSending() {
+
+        MailOutbox m = mail("a@test.local");
+        m.setCreatedAt(LocalDateTime.now().minusMinutes(10));
+        when(outbox.claimDue(eq(MailOutbox.Status.PENDING), any(), any(Pageable.class)))
+                .thenReturn(List.of(m));
+
+        MailOutboxRelay relay = relay(sender(smtp.getSmtp().getPort()));
+
+        assertEquals(0, relay.relay());
+        assertEquals(MailOutbox.Status.DEAD, m.getStatus());
+        assertEquals(0, smtp.getReceivedMessages().length);
+    }
+
+    private MailOutboxRelay relay(JavaMailSenderImpl sender) {
+        return new MailOutboxRelay(outbox, sender, cipher, new TransactionTemplate(txManager),
+                "noreply@test.local", 50, 3, 300_000, 60_000);
+    }
+
+    private static JavaMailSenderImpl sender(int port) {
+        JavaMailSenderImpl sender = new JavaMailSenderImpl();
+        sender.setHost("127.0.0.1");
+        sender.setPort(port);
+        return sender;
+    }
+
+    private MailOutbox mail(String to) {
+        LocalDateTime now = LocalDateTime.now();
+        return MailOutbox.builder()
+                .id(1L)
+                .recipient(to)
+                .subject("Your OTP Code")
+                .payload(cipher.seal("123456"))
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build();
+    }
+}
@@ -0,0 +1,77 @@
+package com.claimswift.auth;
+
+import com.claimswift.auth.exception.HashingCapacityException;
+import com.claimswift.auth.service.PasswordHashingService;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHashingServiceTest {
+
+    @Test
+    void encodeAndMatch_runOnPool() {
+
+        PasswordHashingService hasher =
+                new PasswordHashingService(new BCryptPasswordEncoder(4), 2, 4, 5000);
+
+        String hash = hasher.encode("secret");
+
+        assertTrue(hasher.matches("secret", hash));
+        assertFalse(hasher.matches("wrong", hash));
+        assertEquals(3, hasher.hashCount());
+        assertTrue(hasher.hashTimeNanos() > 0);
+
+        hasher.shutdown();
+    }
+
+    @Test
+    void saturatedPool_failsFast() throws Exception {
+
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+
+        PasswordEncoder slow = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence raw) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return raw.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence raw, String encoded) {
+                return raw.toString().equals(encoded);
+            }
+        };
+
+        PasswordHashingService hasher = new PasswordHashingService(slow, 1, 1, 5000);
+
+        // One running, one queued
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> hasher.encode("a"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> hasher.encode("b"));
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (hasher.queueDepth() < 1 && System.currentTimeMillis() < deadline)
+            Thread.sleep(5);
+
+        assertThrows(HashingCapacityException.class, () -> hasher.encode("c"));
+        assertEquals(1, hasher.rejectionCount());
+
+        release.countDown();
+        assertEquals("a", running.get(5, TimeUnit.SECONDS));
+        assertEquals("b", queued.get(5, TimeUnit.SECONDS));
+
+        hasher.shutdown();
+    }
+}
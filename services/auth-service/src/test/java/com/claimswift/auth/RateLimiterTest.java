@@ -0,0 +1,112 @@
+package com.claimswift.auth;
+
+import com.claimswift.auth.exception.RateLimitExceededException;
+import com.claimswift.auth.service.LoginRateLimiter;
+import com.claimswift.auth.service.TokenBucketLimiter;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    @Test
+    void bucket_allowsBurstThenRejects() {
+
+        TokenBucketLimiter limiter = new TokenBucketLimiter(5, 0.001, 100);
+
+        for (int i = 0; i < 5; i++)
+            assertTrue(limiter.tryAcquire("10.0.0.1"));
+
+        assertFalse(limiter.tryAcquire("10.0.0.1"));
+        assertTrue(limiter.tryAcquire("10.0.0.2"));
+    }
+
+    @Test
+    void bucket_refillsLazily() throws Exception {
+
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, 20, 100);
+
+        assertTrue(limiter.tryAcquire("ip"));
+        assertFalse(limiter.tryAcquire("ip"));
+
+        Thread.sleep(100);
+        assertTrue(limiter.tryAcquire("ip"));
+    }
+
+    @Test
+    void keyMap_isBounded() {
+
+        TokenBucketLimiter limiter = new TokenBucketLimiter(5, 1, 1000);
+
+        for (int i = 0; i < 10_000; i++)
+            limiter.tryAcquire("ip-" + i);
+
+        assertTrue(limiter.size() <= 1000, "buckets: " + limiter.size());
+    }
+
+    @Test
+    void keySpray_cannotFreeAThrottledBucket() {
+
+        TokenBucketLimiter limiter = new TokenBucketLimiter(2, 0.001, 100);
+
+        limiter.tryAcquire("victim");
+        limiter.tryAcquire("victim");
+        assertFalse(limiter.tryAcquire("victim"));
+
+        for (int i = 0; i < 1_000; i++)
+            limiter.tryAcquire("ip-" + i);
+
+        assertFalse(limiter.tryAcquire("victim"));
+    }
+
+    @Test
+    void idleBuckets_makeRoomForNewKeys() throws Exception {
+
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, 100, 2);
+
+        limiter.tryAcquire("a");
+        limiter.tryAcquire("b");
+        assertFalse(limiter.tryAcquire("c"));
+
+        // Both refilled to capacity, so either may go
+        Thread.sleep(50);
+        assertTrue(limiter.tryAcquire("c"));
+        assertEquals(2, limiter.size());
+    }
+
+    @Test
+    void username_rejectionIsCounted() {
+
+        LoginRateLimiter limiter = new LoginRateLimiter(10, 1, 2, 0.001, 100);
+
+        limiter.checkUsername("john");
+        limiter.checkUsername("john");
+
+        assertThrows(RateLimitExceededException.class, () -> limiter.checkUsername("john"));
+        assertEquals(1, limiter.usernameRejectionCount());
+    }
+
+    // Timing only, printed for comparison; run with -Pbenchmark
+    @Test
+    @Tag("benchmark")
+    void benchmark_perCheckOverhead() {
+
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1_000_000, 1_000_000, 100_000);
+        String[] keys = new String[1024];
+        for (int i = 0; i < keys.length; i++)
+            keys[i] = "10.0." + (i >> 8) + "." + (i & 255);
+
+        // Warm up, then measure
+        for (int i = 0; i < 200_000; i++)
+            limiter.tryAcquire(keys[i & 1023]);
+
+        int checks = 2_000_000;
+        long start = System.nanoTime();
+        for (int i = 0; i < checks; i++)
+            limiter.tryAcquire(keys[i & 1023]);
+        double nanosPerCheck = (System.nanoTime() - start) / (double) checks;
+
+        System.out.printf("token bucket check: %.1f ns%n", nanosPerCheck);
+    }
+}
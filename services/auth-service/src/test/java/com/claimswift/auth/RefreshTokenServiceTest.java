@@ -0,0 +1,93 @@
+package com.claimswift.auth;
+
+import com.claimswift.auth.entity.RefreshToken;
+import com.claimswift.auth.exception.InvalidTokenException;
+import com.claimswift.auth.repository.RefreshTokenRepository;
+import com.claimswift.auth.service.RefreshTokenService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class RefreshTokenServiceTest {
+
+    private final List<RefreshToken> rows = new ArrayList<>();
+    private RefreshTokenService service;
+
+    @BeforeEach
+    void setUp() {
+
+        RefreshTokenRepository repository = mock(RefreshTokenRepository.class);
+
+        when(repository.save(any(RefreshToken.class))).thenAnswer(inv -> {
+            RefreshToken row = inv.getArgument(0);
+            row.setId((long) rows.size() + 1);
+            rows.add(row);
+            return row;
+        });
+        when(repository.findByTokenHash(anyString())).thenAnswer(inv -> rows.stream()
+                .filter(r -> r.getTokenHash().equals(inv.getArgument(0)))
+                .findFirst());
+        when(repository.markUsed(anyLong())).thenAnswer(inv -> {
+            for (RefreshToken r : rows) {
+                if (r.getId().equals(inv.getArgument(0)) && !r.isUsed()) {
+                    r.setUsed(true);
+                    return 1;
+                }
+            }
+            return 0;
+        });
+        when(repository.deleteFamily(anyString())).thenAnswer(inv -> {
+            int before = rows.size();
+            rows.removeIf(r -> r.getFamilyId().equals(inv.getArgument(0)));
+            return before - rows.size();
+        });
+
+        service = new RefreshTokenService(repository, 60_000);
+    }
+
+    @Test
+    void rotate_issuesNewTokenInSameFamily() throws Exception {
+
+        String first = service.issue("john");
+        RefreshTokenService.Rotation rotation = service.rotate(first);
+
+        assertEquals("john", rotation.username());
+        assertNotEquals(first, rotation.refreshToken());
+        assertEquals(2, rows.size());
+        assertEquals(rows.get(0).getFamilyId(), rows.get(1).getFamilyId());
+
+        // Only the hash is stored
+        assertTrue(rows.stream().noneMatch(r -> r.getTokenHash().equals(first)));
+    }
+
+    @Test
+    void reusedToken_revokesWholeFamily() throws Exception {
+
+        String first = service.issue("john");
+        String second = service.rotate(first).refreshToken();
+        String other = service.issue("jane");
+
+        assertThrows(InvalidTokenException.class, () -> service.rotate(first));
+
+        // The legitimate holder is logged out too; other sessions are untouched
+        assertThrows(InvalidTokenException.class, () -> service.rotate(second));
+        assertEquals("jane", service.rotate(other).username());
+    }
+
+    @Test
+    void unknownOrRevokedToken_isRejected() {
+
+        String token = service.issue("john");
+        service.revoke(token);
+
+        assertThrows(InvalidTokenException.class, () -> service.rotate(token));
+        assertThrows(InvalidTokenException.class, () -> service.rotate("garbage"));
+        assertTrue(rows.isEmpty());
+    }
+}
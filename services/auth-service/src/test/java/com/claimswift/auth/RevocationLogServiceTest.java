@@ -0,0 +1,129 @@
+package com.claimswift.auth;
+
+import com.claimswift.auth.entity.RevokedToken;
+import com.claimswift.auth.repository.RevokedTokenRepository;
+import com.claimswift.auth.service.RevocationBloomFilter;
+import com.claimswift.auth.service.RevocationLogService;
+import com.claimswift.auth.service.TokenBlacklistService;
+import com.claimswift.auth.service.TokenDigest;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class RevocationLogServiceTest {
+
+    private static final long HOUR = 60 * 60 * 1000;
+
+    private final RevokedTokenRepository repository = mock(RevokedTokenRepository.class);
+    private final TokenBlacklistService blacklist = new TokenBlacklistService();
+    private final RevocationLogService log = new RevocationLogService(repository, blacklist);
+
+    @Test
+    void startup_loadsSnapshotThenTails() {
+
+        long exp = System.currentTimeMillis() + HOUR;
+
+        when(repository.maxId()).thenReturn(5L);
+        when(repository.findByExpiresAtGreaterThanOrderByIdAsc(anyLong()))
+                .thenReturn(List.of(row(4, "a", exp), row(5, "b", exp)));
+        when(repository.findByIdGreaterThanOrderByIdAsc(eq(5L), any(Pageable.class)))
+                .thenReturn(List.of(row(6, "c", exp)));
+
+        log.loadSnapshot();
+        assertTrue(blacklist.isBlacklisted("a"));
+        assertEquals(5, blacklist.replicatedThrough());
+
+        log.tail();
+        assertTrue(blacklist.isBlacklisted("c"));
+        assertEquals(6, blacklist.replicatedThrough());
+    }
+
+    @Test
+    void tail_appliesPastHoleAndPicksUpLateCommit() {
+
+        long exp = System.currentTimeMillis() + HOUR;
+
+        when(repository.maxId()).thenReturn(1L);
+        when(repository.findByExpiresAtGreaterThanOrderByIdAsc(anyLong())).thenReturn(List.of());
+        when(repository.findByIdGreaterThanOrderByIdAsc(eq(1L), any(Pageable.class)))
+                .thenReturn(List.of(row(3, "c", exp)));
+        when(repository.findAllById(List.of(2L))).thenReturn(List.of());
+
+        log.loadSnapshot();
+        log.tail();
+
+        // Id 3 is effective at once; the feed still must not hand out a sequence past id 2
+        assertTrue(blacklist.isBlacklisted("c"));
+        assertEquals(1, blacklist.replicatedThrough());
+
+        // Id 2 commits late and is re-read rather than skipped
+        when(repository.findAllById(List.of(2L))).thenReturn(List.of(row(2, "b", exp)));
+        log.tail();
+
+        assertTrue(blacklist.isBlacklisted("b"));
+        assertEquals(3, blacklist.replicatedThrough());
+    }
+
+    @Test
+    void revoke_persistsAndAppliesLocally() {
+
+        when(repository.existsByDigest(anyString())).thenReturn(false);
+        when(repository.save(any(RevokedToken.class))).thenAnswer(inv -> {
+            RevokedToken t = inv.getArgument(0);
+            t.setId(42L);
+            return t;
+        });
+
+        log.revoke("h.p.sig", new Date(System.currentTimeMillis() + HOUR));
+
+        verify(repository).save(argThat(t ->
+                t.getDigest().equals(TokenDigest.sha256Hex("h.p.sig"))
+                        && t.getBloomKey() == RevocationBloomFilter.hash("h.p.sig")));
+        assertTrue(blacklist.isBlacklisted("h.p.sig"));
+    }
+
+    @Test
+    void revoke_rolledBack_leavesNoLocalRevocation() {
+
+        when(repository.save(any(RevokedToken.class))).thenAnswer(inv -> {
+            RevokedToken t = inv.getArgument(0);
+            t.setId(42L);
+            return t;
+        });
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            log.revoke("h.p.sig", new Date(System.currentTimeMillis() + HOUR));
+            assertFalse(blacklist.isBlacklisted("h.p.sig"));
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertFalse(blacklist.isBlacklisted("h.p.sig"));
+    }
+
+    @Test
+    void revoke_ignoresExpiredTokens() {
+
+        log.revoke("h.p.sig", new Date(System.currentTimeMillis() - 1000));
+
+        verifyNoInteractions(repository);
+    }
+
+    private static RevokedToken row(long id, String token, long exp) {
+        return new RevokedToken(id, TokenDigest.sha256Hex(token),
+                RevocationBloomFilter.hash(token), exp, LocalDateTime.now());
+    }
+}
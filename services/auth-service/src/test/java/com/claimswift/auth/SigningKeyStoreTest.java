@@ -0,0 +1,166 @@
+package com.claimswift.auth;
+
+import com.claimswift.auth.entity.SigningKey;
+import com.claimswift.auth.repository.SigningKeyRepository;
+import com.claimswift.auth.service.SecretCipher;
+import com.claimswift.auth.service.JwtClaimsCache;
+import com.claimswift.auth.service.JwtService;
+import com.claimswift.auth.service.SigningKeyStore;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.InvalidKeySpecException;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.RSAPublicKeySpec;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static com.claimswift.auth.TestSigningKeys.HOUR;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class SigningKeyStoreTest {
+
+    @Test
+    void tokens_carryKidAndVerifyAgainstPublishedKey() throws Exception {
+
+        SigningKeyStore store = TestSigningKeys.store();
+        JwtService jwtService = new JwtService(new JwtClaimsCache(100), store);
+
+        String token = jwtService.generateToken("john", List.of("USER"));
+        Map<String, Object> jwk = store.jwks().get(0);
+
+        // What a downstream service does with the key set, no auth-service call
+        PublicKey publicKey = KeyFactory.getInstance("RSA").generatePublic(new RSAPublicKeySpec(
+                new BigInteger(1, Base64.getUrlDecoder().decode((String) jwk.get("n"))),
+                new BigInteger(1, Base64.getUrlDecoder().decode((String) jwk.get("e")))));
+
+        var jws = Jwts.parserBuilder().setSigningKey(publicKey).build().parseClaimsJws(token);
+
+        assertEquals(jwk.get("kid"), jws.getHeader().getKeyId());
+        assertEquals("RS256", jws.getHeader().getAlgorithm());
+        assertEquals("john", jws.getBody().getSubject());
+    }
+
+    @Test
+    void rotatedKey_isPublishedBeforeItSigns() {
+
+        SigningKeyRepository repository = TestSigningKeys.repository();
+        SigningKeyStore store = new SigningKeyStore(repository, TestSigningKeys.CIPHER, 0, HOUR, 10 * HOUR);
+        store.init();
+
+        String first = store.current().kid();
+
+        // Rotation interval 0: the next refresh creates a successor
+        store.refresh();
+
+        assertEquals(2, store.jwks().size());
+        assertEquals(first, store.current().kid());
+    }
+
+    @Test
+    void storedPrivateKey_isSealed() {
+
+        List<SigningKey> rows = new ArrayList<>();
+        new SigningKeyStore(TestSigningKeys.repository(rows), TestSigningKeys.CIPHER,
+                24 * HOUR, HOUR, 10 * HOUR).init();
+
+        byte[] stored = Base64.getDecoder().decode(rows.get(0).getPrivateKey());
+
+        assertThrows(InvalidKeySpecException.class,
+                () -> KeyFactory.getInstance("RSA").generatePrivate(new PKCS8EncodedKeySpec(stored)));
+
+        // A node on a different KEK can verify, but must mint its own key to sign
+        SigningKeyStore stranger = new SigningKeyStore(TestSigningKeys.repository(rows),
+                new SecretCipher("", true), 24 * HOUR, HOUR, 10 * HOUR);
+        stranger.init();
+        assertNotEquals(rows.get(0).getKid(), stranger.current().kid());
+    }
+
+    @Test
+    void clearLegacyKey_isSealedOnceAndKeepsSigning() throws Exception {
+
+        List<SigningKey> rows = new ArrayList<>();
+        SigningKeyRepository repository = TestSigningKeys.repository(rows);
+        SigningKeyStore store = new SigningKeyStore(repository, TestSigningKeys.CIPHER, 24 * HOUR, HOUR, 10 * HOUR);
+        store.init();
+
+        // Rewind the row to how it was stored before sealing
+        SigningKey row = rows.get(0);
+        PrivateKey clear = store.current().privateKey();
+        row.setPrivateKey(Base64.getEncoder().encodeToString(clear.getEncoded()));
+
+        SigningKeyStore restarted = new SigningKeyStore(repository, TestSigningKeys.CIPHER, 24 * HOUR, HOUR, 10 * HOUR);
+        restarted.init();
+        restarted.refresh();
+        restarted.refresh();
+
+        assertEquals(row.getKid(), restarted.current().kid());
+        assertEquals(clear, restarted.current().privateKey());
+        assertThrows(InvalidKeySpecException.class, () -> KeyFactory.getInstance("RSA")
+                .generatePrivate(new PKCS8EncodedKeySpec(Base64.getDecoder().decode(row.getPrivateKey()))));
+        // One save from the first init's key, one from the migration, none per refresh
+        verify(repository, times(2)).save(any(SigningKey.class));
+    }
+
+    @Test
+    void missingKek_failsStartupOutsideDev() {
+
+        // Otherwise every node would seal, and sign, under a key of its own
+        assertThrows(IllegalStateException.class, () -> new SecretCipher("", false));
+        assertThrows(IllegalStateException.class, () -> new SecretCipher(null, false));
+    }
+
+    @Test
+    void concurrentRotation_createsOneKey() {
+
+        long now = System.currentTimeMillis();
+        List<SigningKey> rows = new ArrayList<>();
+        SigningKeyStore a = new SigningKeyStore(TestSigningKeys.repository(rows), TestSigningKeys.CIPHER,
+                HOUR, HOUR, 10 * HOUR);
+        a.init();
+        rows.get(0).setCreatedAt(now - 2 * HOUR);
+        rows.get(0).setActivatesAt(now - 2 * HOUR);
+        rows.get(0).setRotationSlot((now - 2 * HOUR) / HOUR);
+
+        // Node b read the table before node a's successor landed
+        List<SigningKey> before = List.copyOf(rows);
+        SigningKeyRepository stale = TestSigningKeys.repository(rows);
+        when(stale.findAllByOrderByActivatesAtAsc()).thenReturn(before).thenAnswer(inv -> List.copyOf(rows));
+        SigningKeyStore b = new SigningKeyStore(stale, TestSigningKeys.CIPHER, HOUR, HOUR, 10 * HOUR);
+
+        a.refresh();
+        b.refresh();
+
+        assertEquals(2, rows.size());
+        assertEquals(a.jwks(), b.jwks());
+    }
+
+    @Test
+    void unknownKidOrHmacToken_isRejected() {
+
+        JwtService jwtService = new JwtService(new JwtClaimsCache(100), TestSigningKeys.store());
+        JwtService other = new JwtService(new JwtClaimsCache(100), TestSigningKeys.store());
+
+        assertFalse(jwtService.isValid(other.generateToken("john", List.of("USER"))));
+
+        String hmac = Jwts.builder()
+                .setSubject("john")
+                .setExpiration(new Date(System.currentTimeMillis() + HOUR))
+                .signWith(Keys.hmacShaKeyFor("mysecretkeymysecretkeymysecretkey_1234"
+                        .getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+        assertFalse(jwtService.isValid(hmac));
+    }
+}
@@ -0,0 +1,58 @@
+package com.claimswift.auth;
+
+import com.claimswift.auth.entity.SigningKey;
+import com.claimswift.auth.repository.SigningKeyRepository;
+import com.claimswift.auth.service.SecretCipher;
+import com.claimswift.auth.service.SigningKeyStore;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/* Key store over an in-memory stand-in for the signing_keys table */
+final class TestSigningKeys {
+
+    static final long HOUR = 60 * 60 * 1000;
+
+    static final SecretCipher CIPHER = new SecretCipher("", true);
+
+    private TestSigningKeys() {
+    }
+
+    static SigningKeyStore store() {
+        SigningKeyStore store = new SigningKeyStore(repository(), CIPHER, 24 * HOUR, HOUR / 4, 10 * HOUR);
+        store.init();
+        return store;
+    }
+
+    static SigningKeyRepository repository() {
+        return repository(new ArrayList<>());
+    }
+
+    /* rows is the shared table; the unique rotation_slot index is enforced on save */
+    static SigningKeyRepository repository(List<SigningKey> rows) {
+
+        SigningKeyRepository repository = mock(SigningKeyRepository.class);
+
+        when(repository.findAllByOrderByActivatesAtAsc()).thenAnswer(inv -> rows.stream()
+                .sorted(Comparator.comparingLong(SigningKey::getActivatesAt))
+                .toList());
+        when(repository.save(any(SigningKey.class))).thenAnswer(inv -> {
+            SigningKey key = inv.getArgument(0);
+            rows.removeIf(r -> r.getKid().equals(key.getKid()));
+            if (key.getRotationSlot() != null
+                    && rows.stream().anyMatch(r -> key.getRotationSlot().equals(r.getRotationSlot())))
+                throw new DataIntegrityViolationException("Duplicate rotation_slot");
+            rows.add(key);
+            return key;
+        });
+        doAnswer(inv -> rows.remove(inv.<SigningKey>getArgument(0)))
+                .when(repository).delete(any(SigningKey.class));
+
+        return repository;
+    }
+}
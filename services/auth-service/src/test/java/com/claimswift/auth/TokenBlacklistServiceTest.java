@@ -0,0 +1,199 @@
+package com.claimswift.auth;
+
+import com.claimswift.auth.dto.RevocationFeedResponse;
+import com.claimswift.auth.service.RevocationBloomFilter;
+import com.claimswift.auth.service.TokenBlacklistService;
+import com.claimswift.auth.service.TokenDigest;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBlacklistServiceTest {
+
+    private static final long HOUR = 60 * 60 * 1000;
+
+    private long sequence;
+
+    @Test
+    void revokedToken_isBlacklistedUntilSwept() {
+
+        TokenBlacklistService blacklist = new TokenBlacklistService();
+        long now = System.currentTimeMillis();
+
+        revoke(blacklist, "token", now + HOUR);
+
+        assertTrue(blacklist.isBlacklisted("token"));
+        assertFalse(blacklist.isBlacklisted("other"));
+
+        assertEquals(0, blacklist.sweep(now));
+        assertEquals(1, blacklist.sweep(now + 2 * HOUR));
+        assertFalse(blacklist.isBlacklisted("token"));
+    }
+
+    @Test
+    void expiredToken_isNotStored() {
+
+        TokenBlacklistService blacklist = new TokenBlacklistService();
+
+        revoke(blacklist, "token", System.currentTimeMillis() - 1000);
+
+        assertEquals(0, blacklist.size());
+    }
+
+    @Test
+    void feed_returnsRevocationsAfterSequence() {
+
+        TokenBlacklistService blacklist = new TokenBlacklistService();
+        long exp = System.currentTimeMillis() + HOUR;
+
+        revoke(blacklist, "a", exp);
+        revoke(blacklist, "b", exp);
+        revoke(blacklist, "a", exp);
+        blacklist.advanceReplicatedThrough(sequence);
+
+        RevocationFeedResponse all = blacklist.revokedSince(0);
+        assertEquals(2, all.getRevocations().size());
+        assertEquals(2, all.getSequence());
+        assertTrue(blacklist.isBlacklisted("a"));
+        assertEquals(64, all.getRevocations().get(0).getDigest().length());
+
+        RevocationFeedResponse tail = blacklist.revokedSince(1);
+        assertEquals(1, tail.getRevocations().size());
+        assertEquals(all.getEpoch(), tail.getEpoch());
+    }
+
+    @Test
+    void unrevokedTokens_areAnsweredByBloomFilter() {
+
+        TokenBlacklistService blacklist = new TokenBlacklistService(10_000, 0.001);
+        long exp = System.currentTimeMillis() + HOUR;
+
+        for (int i = 0; i < 1_000; i++)
+            revoke(blacklist, "h.p.revoked-signature-" + i, exp);
+
+        for (int i = 0; i < 100_000; i++)
+            assertFalse(blacklist.isBlacklisted("h.p.live-signature-" + i));
+
+        assertTrue(blacklist.isBlacklisted("h.p.revoked-signature-7"));
+        assertTrue(blacklist.exactLookupCount() < 100,
+                "exact lookups: " + blacklist.exactLookupCount());
+    }
+
+    @Test
+    void bloomFilter_staysNearConfiguredFalsePositiveRate() {
+
+        RevocationBloomFilter filter = new RevocationBloomFilter(50_000, 0.01);
+
+        for (int i = 0; i < 50_000; i++)
+            filter.put("h.p.in-" + i);
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("h.p.out-" + i))
+                falsePositives++;
+        }
+
+        for (int i = 0; i < 50_000; i++)
+            assertTrue(filter.mightContain("h.p.in-" + i));
+
+        assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+    }
+
+    @Test
+    void revocations_areReleasedBucketByBucket() {
+
+        int count = 60_000;
+        TokenBlacklistService blacklist = new TokenBlacklistService();
+
+        // Whole minutes, so every expiry lands in a known bucket
+        long now = System.currentTimeMillis() / 60_000 * 60_000;
+
+        for (int i = 0; i < count; i++) {
+            // Spread expiries over 10 hours, one bucket per minute
+            revoke(blacklist, "header.payload-" + i + ".signature",
+                    now + 60_000 + (i % 600) * 60_000L);
+        }
+
+        blacklist.advanceReplicatedThrough(sequence);
+
+        assertEquals(count, blacklist.size());
+        assertEquals(count, blacklist.revokedSince(sequence - 1).getSequence());
+        assertEquals(600, blacklist.expiryBucketCount());
+        assertTrue(blacklist.bloomGenerationCount() <= 12);
+
+        // Half-way: exactly the buckets that ended are dropped, with their entries
+        assertEquals(count / 2, blacklist.sweep(now + 301 * 60_000L));
+        assertEquals(count / 2, blacklist.size());
+        assertEquals(300, blacklist.expiryBucketCount());
+
+        assertEquals(count / 2, blacklist.sweep(now + 11 * HOUR));
+        assertEquals(0, blacklist.size());
+        assertEquals(0, blacklist.expiryBucketCount());
+        assertEquals(0, blacklist.bloomGenerationCount());
+        assertTrue(blacklist.revokedSince(0).getRevocations().isEmpty());
+    }
+
+    @Test
+    void concurrentReaders_seeRevocations() throws Exception {
+
+        TokenBlacklistService blacklist = new TokenBlacklistService();
+        long exp = System.currentTimeMillis() + HOUR;
+
+        for (int i = 0; i < 10_000; i++)
+            revoke(blacklist, "revoked-" + i, exp);
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        List<Future<Integer>> results = new ArrayList<>();
+
+        for (int t = 0; t < 4; t++) {
+            results.add(pool.submit(() -> {
+                int hits = 0;
+                for (int i = 0; i < 20_000; i++) {
+                    if (blacklist.isBlacklisted((i % 2 == 0 ? "revoked-" : "live-") + (i % 10_000)))
+                        hits++;
+                }
+                return hits;
+            }));
+        }
+
+        for (Future<Integer> f : results)
+            assertEquals(10_000, f.get());
+
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void feed_stopsAtReplicatedWatermark() {
+
+        TokenBlacklistService blacklist = new TokenBlacklistService();
+        long exp = System.currentTimeMillis() + HOUR;
+
+        // Row 2 is still in flight on another node, so 3 must not be published yet
+        blacklist.apply(1, TokenDigest.sha256Hex("a"), RevocationBloomFilter.hash("a"), exp);
+        blacklist.apply(3, TokenDigest.sha256Hex("c"), RevocationBloomFilter.hash("c"), exp);
+        blacklist.advanceReplicatedThrough(1);
+
+        assertTrue(blacklist.isBlacklisted("c"));
+        assertEquals(1, blacklist.revokedSince(0).getSequence());
+        assertTrue(blacklist.revokedSince(1).getRevocations().isEmpty());
+
+        blacklist.apply(2, TokenDigest.sha256Hex("b"), RevocationBloomFilter.hash("b"), exp);
+        blacklist.advanceReplicatedThrough(3);
+
+        assertEquals(2, blacklist.revokedSince(1).getRevocations().size());
+    }
+
+    private void revoke(TokenBlacklistService blacklist, String token, long expiresAt) {
+        if (blacklist.apply(sequence + 1, TokenDigest.sha256Hex(token),
+                RevocationBloomFilter.hash(token), expiresAt))
+            sequence++;
+    }
+}
@@ -0,0 +1,133 @@
+package com.claimswift.auth;
+
+import com.claimswift.auth.controller.TokenValidationController;
+import com.claimswift.auth.service.JwtClaimsCache;
+import com.claimswift.auth.service.JwtService;
+import com.claimswift.auth.service.RevocationBloomFilter;
+import com.claimswift.auth.service.TokenBlacklistService;
+import com.claimswift.auth.service.TokenDigest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class TokenValidationControllerTest {
+
+    private JwtClaimsCache claimsCache;
+    private JwtService jwtService;
+    private TokenBlacklistService blacklist;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        claimsCache = new JwtClaimsCache(10_000);
+        jwtService = new JwtService(claimsCache, TestSigningKeys.store());
+        blacklist = new TokenBlacklistService();
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new TokenValidationController(jwtService, blacklist))
+                .build();
+    }
+
+    @Test
+    void batch_returnsOneResultPerTokenInOrder() throws Exception {
+
+        String good = jwtService.generateToken("john", List.of("USER"));
+        String revoked = jwtService.generateToken("jane", List.of("ADMIN"));
+        blacklist.apply(1, TokenDigest.sha256Hex(revoked), RevocationBloomFilter.hash(revoked),
+                System.currentTimeMillis() + 60_000);
+
+        mockMvc.perform(post("/auth/validate/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body(List.of("Bearer " + good, revoked, "garbage"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].valid").value(true))
+                .andExpect(jsonPath("$[0].username").value("john"))
+                .andExpect(jsonPath("$[0].roles[0]").value("USER"))
+                .andExpect(jsonPath("$[1].valid").value(false))
+                .andExpect(jsonPath("$[2].valid").value(false));
+    }
+
+    @Test
+    void emptyBatch_isRejected() throws Exception {
+
+        mockMvc.perform(post("/auth/validate/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"tokens\":[]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void batch_verifiesEachTokenOnce() throws Exception {
+
+        // Above the parallel threshold, so the forked path is covered too
+        List<String> tokens = tokens(50);
+
+        batch(tokens);
+
+        // One signature check per token; username and roles come from the cached claims
+        assertEquals(50, claimsCache.missCount());
+        assertEquals(100, claimsCache.hitCount());
+    }
+
+    // Timing only, printed for comparison; run with -Pbenchmark
+    @Test
+    @Tag("benchmark")
+    void benchmark_batchAgainstSingleCalls() throws Exception {
+
+        int n = 200;
+        List<String> tokens = tokens(n);
+
+        // Warm up both paths
+        for (int i = 0; i < 3; i++) {
+            singles(tokens);
+            batch(tokens);
+        }
+
+        long singles = singles(tokens);
+        long batch = batch(tokens);
+
+        System.out.printf("%d tokens: %d single calls %.2f ms, one batch %.2f ms%n",
+                n, n, singles / 1e6, batch / 1e6);
+    }
+
+    private List<String> tokens(int n) {
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < n; i++)
+            tokens.add(jwtService.generateToken("user" + i, List.of("USER")));
+        return tokens;
+    }
+
+    private long singles(List<String> tokens) throws Exception {
+        long start = System.nanoTime();
+        for (String token : tokens)
+            mockMvc.perform(post("/auth/validate").header("Authorization", "Bearer " + token))
+                    .andExpect(jsonPath("$.valid").value(true));
+        return System.nanoTime() - start;
+    }
+
+    private long batch(List<String> tokens) throws Exception {
+        long start = System.nanoTime();
+        mockMvc.perform(post("/auth/validate/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body(tokens)))
+                .andExpect(jsonPath("$.length()").value(tokens.size()));
+        return System.nanoTime() - start;
+    }
+
+    private static String body(List<String> tokens) {
+        return tokens.stream()
+                .map(t -> "\"" + t + "\"")
+                .collect(java.util.stream.Collectors.joining(",", "{\"tokens\":[", "]}"));
+    }
+}
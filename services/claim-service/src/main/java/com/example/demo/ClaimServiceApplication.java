@@ -1,9 +1,15 @@
 package com.example.demo;
 
+import com.example.demo.config.ClaimEventProperties;
+
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
+@EnableConfigurationProperties(ClaimEventProperties.class)
 public class ClaimServiceApplication {
 
     public static void main(String[] args) {
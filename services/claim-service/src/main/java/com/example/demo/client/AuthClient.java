@@ -1,7 +1,10 @@
 package com.example.demo.client;
 
 import com.example.demo.dto.AuthValidationResponse;
+import com.example.demo.dto.JwkSetResponse;
+import com.example.demo.dto.RevocationFeedResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
@@ -12,6 +15,9 @@ public class AuthClient {
 
     private final RestTemplate restTemplate;
 
+    @Value("${auth.base-url:http://localhost:8081}")
+    private String authBaseUrl;
+
     public AuthValidationResponse validate(String token){
 
         HttpHeaders headers = new HttpHeaders();
@@ -21,7 +27,7 @@ public class AuthClient {
 
         ResponseEntity<AuthValidationResponse> res =
                 restTemplate.exchange(
-                        "http://localhost:8081/auth/validate",
+                        authBaseUrl + "/auth/validate",
                         HttpMethod.POST,
                         entity,
                         AuthValidationResponse.class
@@ -29,4 +35,21 @@ public class AuthClient {
 
         return res.getBody();
     }
-}
\ No newline at end of file
+
+    public RevocationFeedResponse revocations(long after){
+
+        return restTemplate.getForObject(
+                authBaseUrl + "/auth/revocations?after={after}",
+                RevocationFeedResponse.class,
+                after
+        );
+    }
+
+    public JwkSetResponse jwks(){
+
+        return restTemplate.getForObject(
+                authBaseUrl + "/auth/.well-known/jwks.json",
+                JwkSetResponse.class
+        );
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.demo.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@ConfigurationProperties(prefix = "claims.events")
+@Getter
+@Setter
+public class ClaimEventProperties {
+
+    // subscriber name → URL that accepts a POSTed JSON array of ClaimEventMessage
+    private Map<String, String> subscribers = new LinkedHashMap<>();
+
+    private int batchSize = 200;
+
+    private long retentionMs = 86_400_000;
+
+    // Must outlast a POST (connect + read timeout), or another node may send the same batch
+    private long leaseMs = 30_000;
+
+    // How long a skipped id is re-read before it counts as a rollback
+    private long holeHorizonMs = 600_000;
+}
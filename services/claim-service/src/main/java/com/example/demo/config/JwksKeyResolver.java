@@ -0,0 +1,88 @@
+package com.example.demo.config;
+
+import com.example.demo.client.AuthClient;
+import com.example.demo.dto.JwkSetResponse;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigInteger;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Public keys published by auth-service, looked up by the token's kid.
+ *
+ * The key set is refreshed in the background only; a kid that is not in
+ * the current set simply fails verification instead of triggering a fetch
+ * on the request thread.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JwksKeyResolver extends SigningKeyResolverAdapter {
+
+    private final AuthClient authClient;
+
+    @Value("${auth.validation.jwks-refresh-interval-ms:300000}")
+    private long refreshIntervalMs;
+
+    private volatile Map<String, PublicKey> keys = Map.of();
+    private volatile long lastRefreshAt;
+
+    @Scheduled(fixedDelayString = "${auth.validation.jwks-poll-interval-ms:10000}")
+    public void tick() {
+        if (keys.isEmpty() || System.currentTimeMillis() - lastRefreshAt >= refreshIntervalMs)
+            refresh();
+    }
+
+    public void refresh() {
+        try {
+            JwkSetResponse set = authClient.jwks();
+            if (set == null || set.getKeys() == null)
+                return;
+
+            Map<String, PublicKey> loaded = new HashMap<>();
+            for (JwkSetResponse.Key jwk : set.getKeys()) {
+                if ("RSA".equals(jwk.getKty()))
+                    loaded.put(jwk.getKid(), toPublicKey(jwk.getN(), jwk.getE()));
+            }
+
+            keys = Map.copyOf(loaded);
+            lastRefreshAt = System.currentTimeMillis();
+
+        } catch (Exception e) {
+            log.warn("JWKS refresh from auth-service failed: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+        String kid = header.getKeyId();
+        return kid == null ? null : keys.get(kid);
+    }
+
+    /* Package-private so tests can install keys without an HTTP round trip */
+    void setKeys(Map<String, PublicKey> keys) {
+        this.keys = Map.copyOf(keys);
+        this.lastRefreshAt = System.currentTimeMillis();
+    }
+
+    static PublicKey toPublicKey(String n, String e) throws Exception {
+        Base64.Decoder b64 = Base64.getUrlDecoder();
+        RSAPublicKeySpec spec = new RSAPublicKeySpec(
+                new BigInteger(1, b64.decode(n)),
+                new BigInteger(1, b64.decode(e)));
+        return KeyFactory.getInstance("RSA").generatePublic(spec);
+    }
+}
@@ -5,6 +5,8 @@ import com.example.demo.dto.AuthValidationResponse;
 import jakarta.servlet.*;
 import jakarta.servlet.http.*;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -14,11 +16,27 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final AuthClient authClient;
+    private final LocalJwtVerifier localVerifier;
+    private final RevocationSync revocationSync;
+    private final RemoteValidationCache remoteCache;
+
+    /* local: verify in-process; remote: call auth-service /auth/validate */
+    @Value("${auth.validation.mode:local}")
+    private String mode;
+
+    /* In local mode, ask auth-service while the revocation replica is stale */
+    @Value("${auth.validation.remote-fallback:true}")
+    private boolean remoteFallback;
+
+    /* With auth-service down, local checks are trusted only while the replica is this fresh */
+    @Value("${auth.validation.outage-max-lag-ms:120000}")
+    private long outageMaxLagMs;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -30,8 +48,7 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         if(header != null && header.startsWith("Bearer ")){
 
-            AuthValidationResponse result =
-                    authClient.validate(header);
+            AuthValidationResponse result = validate(header);
 
             if(result != null && result.isValid()){
 
@@ -54,4 +71,32 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request,response);
     }
-}
\ No newline at end of file
+
+    private AuthValidationResponse validate(String header) {
+
+        String token = header.substring(7);
+
+        boolean useRemote = "remote".equalsIgnoreCase(mode)
+                || (remoteFallback && revocationSync.isStale());
+
+        if (!useRemote)
+            return localVerifier.verify(token);
+
+        AuthValidationResponse cached = remoteCache.get(token);
+        if (cached != null)
+            return cached;
+
+        try {
+            AuthValidationResponse result = authClient.validate(header);
+            remoteCache.put(token, result);
+            return result;
+        } catch (Exception e) {
+            log.warn("Remote token validation failed: {}", e.getMessage());
+
+            // Remote was chosen because the replica may miss logouts; past the bound, fail closed
+            if (revocationSync.lagMs() > outageMaxLagMs)
+                return null;
+            return localVerifier.verify(token);
+        }
+    }
+}
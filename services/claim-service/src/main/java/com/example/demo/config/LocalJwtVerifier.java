@@ -0,0 +1,55 @@
+package com.example.demo.config;
+
+import com.example.demo.dto.AuthValidationResponse;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Verifies auth-service tokens in-process: signature and expiry against
+ * the published key set, revocation against the locally replicated set.
+ */
+@Slf4j
+@Component
+public class LocalJwtVerifier {
+
+    private final JwtParser parser;
+    private final RevocationSync revocations;
+
+    public LocalJwtVerifier(JwksKeyResolver keys,
+                            RevocationSync revocations) {
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(keys)
+                .build();
+        this.revocations = revocations;
+    }
+
+    public AuthValidationResponse verify(String token) {
+
+        AuthValidationResponse result = new AuthValidationResponse();
+
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+
+            if (revocations.isRevoked(token))
+                return result;
+
+            @SuppressWarnings("unchecked")
+            List<String> roles = claims.get("roles", List.class);
+
+            result.setValid(true);
+            result.setUsername(claims.getSubject());
+            result.setRoles(roles == null ? List.of() : roles);
+
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Rejected token: {}", e.getMessage());
+        }
+
+        return result;
+    }
+}
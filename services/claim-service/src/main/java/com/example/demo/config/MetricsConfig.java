@@ -0,0 +1,31 @@
+package com.example.demo.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.demo.service.ClaimStatusCache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+@Configuration
+public class MetricsConfig {
+
+    /* ================= CLAIM STATUS CACHE ================= */
+    @Bean
+    public MeterBinder claimStatusCacheMetrics(ClaimStatusCache cache) {
+        return registry -> {
+            FunctionCounter.builder("claims.status.cache", cache, ClaimStatusCache::hitCount)
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("claims.status.cache", cache, ClaimStatusCache::missCount)
+                    .tag("result", "miss")
+                    .register(registry);
+            Gauge.builder("claims.status.cache.hit.ratio", cache, ClaimStatusCache::hitRatio)
+                    .register(registry);
+            Gauge.builder("claims.status.cache.size", cache, ClaimStatusCache::size)
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.demo.config;
+
+import com.example.demo.dto.AuthValidationResponse;
+import com.example.demo.service.LruCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Short-lived cache of /auth/validate answers, used only when tokens are
+ * validated remotely. A logout becomes visible here after at most one TTL;
+ * past {@code max-size} the least recently used answer is dropped.
+ */
+@Component
+public class RemoteValidationCache {
+
+    private final long ttlMs;
+    private final int maxSize;
+
+    private final LruCache<String, Entry> entries;
+
+    public RemoteValidationCache(
+            @Value("${auth.validation.remote-cache-ttl-ms:5000}") long ttlMs,
+            @Value("${auth.validation.remote-cache-max-size:10000}") int maxSize) {
+        this.ttlMs = ttlMs;
+        this.maxSize = maxSize;
+        this.entries = new LruCache<>(Math.max(1, maxSize));
+    }
+
+    public AuthValidationResponse get(String token) {
+
+        String key = RevocationSync.digest(token);
+        Entry entry = entries.get(key);
+
+        if (entry == null)
+            return null;
+
+        if (entry.expiresAt() <= System.currentTimeMillis()) {
+            entries.remove(key, entry);
+            return null;
+        }
+
+        return entry.result();
+    }
+
+    public void put(String token, AuthValidationResponse result) {
+
+        if (ttlMs <= 0 || maxSize <= 0 || result == null)
+            return;
+
+        entries.put(RevocationSync.digest(token),
+                new Entry(result, System.currentTimeMillis() + ttlMs));
+    }
+
+    private record Entry(AuthValidationResponse result, long expiresAt) {
+    }
+}
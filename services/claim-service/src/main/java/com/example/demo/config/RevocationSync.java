@@ -0,0 +1,99 @@
+package com.example.demo.config;
+
+import com.example.demo.client.AuthClient;
+import com.example.demo.dto.RevocationFeedResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Local replica of auth-service's revoked-token set.
+ *
+ * Tails the /auth/revocations feed in the background so that request
+ * threads only do an in-memory lookup.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RevocationSync {
+
+    private final AuthClient authClient;
+
+    @Value("${auth.validation.revocation-max-staleness-ms:30000}")
+    private long maxStalenessMs;
+
+    /* digest -> token expiry; entries are dropped once the token has expired */
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+
+    private volatile String epoch;
+    private volatile long sequence;
+    private volatile long lastSyncAt;
+
+    @Scheduled(fixedDelayString = "${auth.validation.revocation-sync-interval-ms:5000}")
+    public void sync() {
+        try {
+            while (true) {
+                RevocationFeedResponse page = authClient.revocations(sequence);
+                if (page == null)
+                    return;
+
+                // auth-service restarted: its log starts over, so must ours
+                if (epoch != null && !epoch.equals(page.getEpoch())) {
+                    revoked.clear();
+                    sequence = 0;
+                    epoch = page.getEpoch();
+                    continue;
+                }
+                epoch = page.getEpoch();
+
+                List<RevocationFeedResponse.Entry> entries = page.getRevocations();
+                if (entries == null || entries.isEmpty())
+                    break;
+
+                entries.forEach(e -> revoked.put(e.getDigest(), e.getExpiresAt()));
+                sequence = page.getSequence();
+            }
+
+            long now = System.currentTimeMillis();
+            revoked.values().removeIf(exp -> exp <= now);
+
+            lastSyncAt = System.currentTimeMillis();
+
+        } catch (Exception e) {
+            log.warn("Revocation sync with auth-service failed: {}", e.getMessage());
+        }
+    }
+
+    public boolean isRevoked(String token) {
+        return revoked.containsKey(digest(token));
+    }
+
+    /* True when the replica may be missing recent logouts */
+    public boolean isStale() {
+        return lagMs() > maxStalenessMs;
+    }
+
+    /* Time since the last complete sync; huge before the first one */
+    public long lagMs() {
+        return System.currentTimeMillis() - lastSyncAt;
+    }
+
+    static String digest(String token) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.demo.config;
 
 
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -30,6 +31,7 @@ public class SecurityConfig {
                 session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
 
             .authorizeHttpRequests(auth -> auth
+                .requestMatchers(HttpMethod.GET, "/claims/workflow").permitAll()
                 .requestMatchers("/claims/**").authenticated()
                 .anyRequest().permitAll()
             )
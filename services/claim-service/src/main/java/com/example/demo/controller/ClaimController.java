@@ -2,24 +2,41 @@ package com.example.demo.controller;
 
 import lombok.RequiredArgsConstructor;
 
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 
+import com.example.demo.dto.BulkTransitionRequest;
+import com.example.demo.dto.BulkTransitionResponse;
 import com.example.demo.dto.ClaimDto;
+import com.example.demo.dto.ClaimHistoryItem;
+import com.example.demo.dto.ClaimPage;
+import com.example.demo.dto.WorkflowDefinition;
 import com.example.demo.entity.Claim;
 import com.example.demo.entity.ClaimStatus;
-import com.example.demo.entity.ClaimStatusHistory;
 import com.example.demo.service.ClaimWorkflowservice;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/claims")
 @RequiredArgsConstructor
 public class ClaimController {
 
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final ClaimWorkflowservice service;
+    private final ObjectMapper objectMapper;
 
     // ================================
     // 1️⃣ Submit Claim
@@ -42,6 +59,18 @@ public class ClaimController {
         return service.updateStatus(id, status);
     }
 
+    // ================================
+    // 2️⃣ Bulk Status Update
+    // ================================
+    // Per-claim outcome in the body; one bad id never fails the rest
+    @PostMapping("/status/bulk")
+    @PreAuthorize("hasRole('MANAGER')")
+    public BulkTransitionResponse bulkUpdateStatus(
+            @RequestBody BulkTransitionRequest request) {
+
+        return service.bulkUpdateStatus(request.getClaimIds(), request.getStatus());
+    }
+
     // ================================
     // 3️⃣ Get Current Status
     // ================================
@@ -50,14 +79,38 @@ public class ClaimController {
         return service.getStatus(id);
     }
 
+    // ================================
+    // 3️⃣ Bulk Status Lookup
+    // ================================
+    // {id: status} for the ids that exist; one call instead of one per claim, at most a bulk chunk of ids
+    @PostMapping("/status/lookup")
+    public ResponseEntity<Map<Long, ClaimStatus>> lookupStatuses(
+            @RequestBody List<Long> ids) {
+
+        if (ids.size() > ClaimWorkflowservice.MAX_LOOKUP_IDS)
+            return ResponseEntity.badRequest().build();
+
+        return ResponseEntity.ok(service.getStatuses(ids));
+    }
+
     // ================================
     // 4️⃣ Get Status History
     // ================================
+    // Repeat polls with If-None-Match cost one index probe and a 304
     @GetMapping("/{id}/history")
-    public List<ClaimStatusHistory> getHistory(
-            @PathVariable Long id) {
+    public ResponseEntity<List<ClaimHistoryItem>> getHistory(
+            @PathVariable Long id,
+            WebRequest request) {
+
+        String etag = "\"" + id + "-" + service.getLatestHistoryId(id) + "\"";
+
+        if (request.checkNotModified(etag))
+            return null;
 
-        return service.getHistory(id);
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(service.getHistory(id));
     }
 
     // ================================
@@ -69,7 +122,75 @@ public class ClaimController {
 
         return service.getClaimsByStatus(status);
     }
+
+    // ================================
+    // 6️⃣ Status Filter, Keyset Paged
+    // ================================
+    @GetMapping("/status/page")
+    public ClaimPage getPageByStatus(
+            @RequestParam ClaimStatus status,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "100") int size) {
+
+        return service.getClaimPageByStatus(status, after, size);
+    }
+
+    // ================================
+    // 7️⃣ Status Filter, NDJSON Stream
+    // ================================
+    @GetMapping("/status/stream")
+    public ResponseEntity<StreamingResponseBody> streamByStatus(
+            @RequestParam ClaimStatus status) {
+
+        StreamingResponseBody body = out -> service.forEachClaimByStatus(status, item -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(item));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
     
+    // ================================
+    // 8️⃣ Policy Number Search
+    // ================================
+    // contains → in-memory trigram index, prefix/exact → B-tree index
+    @GetMapping("/search")
+    public List<Claim> searchByPolicy(
+            @RequestParam String policy,
+            @RequestParam(defaultValue = "contains") String match) {
+
+        return switch (match) {
+            case "exact" -> service.getClaimsByPolicyNumber(policy);
+            case "prefix" -> service.getClaimsByPolicyPrefix(policy);
+            default -> service.getClaimsByUser(policy);
+        };
+    }
+
+    // ================================
+    // 9️⃣ Claims Movable To A Status
+    // ================================
+    @GetMapping("/movable")
+    public ClaimPage getMovable(
+            @RequestParam ClaimStatus to,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "100") int size) {
+
+        return service.getClaimsMovableTo(to, after, size);
+    }
+
+    // ================================
+    // 🔟 Workflow Definition
+    // ================================
+    // Other services read this instead of hard-coding status strings
+    @GetMapping("/workflow")
+    public WorkflowDefinition getWorkflow() {
+        return service.getWorkflowDefinition();
+    }
+
     @GetMapping("/test")
     public String test(Authentication auth){
         return "Authorized access for user: " + auth.getName();
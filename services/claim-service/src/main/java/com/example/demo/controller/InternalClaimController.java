@@ -0,0 +1,34 @@
+package com.example.demo.controller;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.demo.dto.ClaimSummary;
+import com.example.demo.service.ClaimStatusCounters;
+
+// Service-to-service feeds; not part of the public /claims API
+@RestController
+@RequestMapping("/internal/claims")
+@RequiredArgsConstructor
+public class InternalClaimController {
+
+    private final ClaimStatusCounters counters;
+
+    // ================================
+    // Claim Summary (reporting-service)
+    // ================================
+    // Served from in-memory counters; 503 until they are seeded after startup
+    @GetMapping("/summary")
+    public ResponseEntity<ClaimSummary> summary() {
+
+        if (!counters.isReady())
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+
+        return ResponseEntity.ok(counters.summary());
+    }
+}
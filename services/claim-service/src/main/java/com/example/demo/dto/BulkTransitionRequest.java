@@ -0,0 +1,14 @@
+package com.example.demo.dto;
+
+import java.util.List;
+
+import com.example.demo.entity.ClaimStatus;
+
+import lombok.Data;
+
+@Data
+public class BulkTransitionRequest {
+
+    private List<Long> claimIds;
+    private ClaimStatus status;
+}
@@ -0,0 +1,22 @@
+package com.example.demo.dto;
+
+import java.util.List;
+
+import com.example.demo.entity.ClaimStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkTransitionResponse {
+
+    private ClaimStatus status;
+    private int applied;
+    private int failed;
+
+    // Same order as the request, one entry per distinct claim id
+    private List<BulkTransitionResult> results;
+}
@@ -0,0 +1,19 @@
+package com.example.demo.dto;
+
+import com.example.demo.entity.ClaimStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Outcome for one claim of a bulk transition; error is null on success
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkTransitionResult {
+
+    private Long claimId;
+    private boolean success;
+    private ClaimStatus oldStatus;
+    private String error;
+}
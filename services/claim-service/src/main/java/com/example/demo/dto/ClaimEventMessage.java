@@ -0,0 +1,27 @@
+package com.example.demo.dto;
+
+import java.time.LocalDateTime;
+
+import com.example.demo.entity.ClaimEvent;
+import com.example.demo.entity.ClaimStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// What subscribers receive; delivery is at-least-once, so dedupe on eventId
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClaimEventMessage {
+
+    private Long eventId;
+    private Long claimId;
+    private ClaimStatus oldStatus;
+    private ClaimStatus newStatus;
+    private LocalDateTime occurredAt;
+
+    public static ClaimEventMessage of(ClaimEvent e) {
+        return new ClaimEventMessage(e.getId(), e.getClaimId(), e.getOldStatus(), e.getNewStatus(), e.getOccurredAt());
+    }
+}
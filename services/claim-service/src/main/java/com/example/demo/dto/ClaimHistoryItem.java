@@ -0,0 +1,22 @@
+package com.example.demo.dto;
+
+import java.time.LocalDateTime;
+
+import com.example.demo.entity.ClaimStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Same JSON as ClaimStatusHistory, selected by JPQL so nothing is managed or dirty-checked
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClaimHistoryItem {
+
+    private Long id;
+    private Long claimId;
+    private ClaimStatus oldStatus;
+    private ClaimStatus newStatus;
+    private LocalDateTime transitionedAt;
+}
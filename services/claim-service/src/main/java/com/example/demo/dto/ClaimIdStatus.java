@@ -0,0 +1,11 @@
+package com.example.demo.dto;
+
+import com.example.demo.entity.ClaimStatus;
+
+// Closed projection: only id and status are selected
+public interface ClaimIdStatus {
+
+    Long getId();
+
+    ClaimStatus getStatus();
+}
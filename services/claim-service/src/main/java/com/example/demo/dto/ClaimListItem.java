@@ -0,0 +1,22 @@
+package com.example.demo.dto;
+
+import java.time.LocalDateTime;
+
+import com.example.demo.entity.ClaimStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Read-only row for listings; selected directly by JPQL, never a managed entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClaimListItem {
+
+    private Long id;
+    private String policyNumber;
+    private Double amount;
+    private ClaimStatus status;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,18 @@
+package com.example.demo.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClaimPage {
+
+    private List<ClaimListItem> items;
+
+    // Pass back as ?after= for the next page; null on the last page
+    private Long nextCursor;
+}
@@ -0,0 +1,9 @@
+package com.example.demo.dto;
+
+// Closed projection: only id and policy_number are selected
+public interface ClaimPolicyNumber {
+
+    Long getId();
+
+    String getPolicyNumber();
+}
@@ -0,0 +1,28 @@
+package com.example.demo.dto;
+
+import java.util.Map;
+
+import com.example.demo.entity.ClaimStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Shape reporting-service reads as ClaimSummaryDTO; byStatus is extra detail
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClaimSummary {
+
+    private Long total;
+
+    // Claims that were approved, including those since settled
+    private Long approved;
+
+    private Long rejected;
+
+    // Hours from submission to SETTLED, averaged over settled claims
+    private Double avgSettlementTime;
+
+    private Map<ClaimStatus, Long> byStatus;
+}
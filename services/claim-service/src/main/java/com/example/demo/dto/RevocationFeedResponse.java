@@ -0,0 +1,22 @@
+package com.example.demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+public class RevocationFeedResponse {
+    private String epoch;
+    private long sequence;
+    private List<Entry> revocations;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Entry {
+        private String digest;
+        private long expiresAt;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.demo.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkflowDefinition {
+
+    private String initial;
+
+    // state → states it may move to; terminal states map to an empty list
+    private Map<String, List<String>> transitions;
+
+    private List<String> terminal;
+}
@@ -9,7 +9,12 @@ import lombok.Data;
 
 @Data
 @Entity
-@Table(name = "claims")
+@Table(name = "claims", indexes = {
+        // Keyset listing: where status = ? and id > ? order by id
+        @Index(name = "idx_claims_status_id", columnList = "status, id"),
+        // Exact and prefix policy lookups; substring search uses PolicyNumberIndex
+        @Index(name = "idx_claims_policy_number", columnList = "policy_number")
+})
 public class Claim {
 
     @Id
@@ -27,4 +32,9 @@ public class Claim {
 
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+
+    // Bumped by every write, including ClaimRepository.compareAndSetStatus; existing rows start at 0
+    @Version
+    @Column(columnDefinition = "bigint not null default 0")
+    private long version;
 }
\ No newline at end of file
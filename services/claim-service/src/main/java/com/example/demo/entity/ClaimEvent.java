@@ -0,0 +1,34 @@
+package com.example.demo.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+// Outbox row, written in the same transaction as the status change it describes
+@Data
+@Entity
+@Table(name = "claim_events", indexes = {
+        @Index(name = "idx_claim_events_occurred_at", columnList = "occurred_at")
+})
+public class ClaimEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long claimId;
+
+    // null for the submit event
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private ClaimStatus oldStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private ClaimStatus newStatus;
+
+    @Column(nullable = false)
+    private LocalDateTime occurredAt;
+}
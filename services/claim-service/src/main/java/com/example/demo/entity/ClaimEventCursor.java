@@ -0,0 +1,41 @@
+package com.example.demo.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// How far each subscriber has acknowledged claim_events
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "claim_event_cursors")
+public class ClaimEventCursor {
+
+    @Id
+    @Column(length = 64)
+    private String subscriber;
+
+    private long lastEventId;
+
+    private int failures;
+
+    private LocalDateTime nextAttemptAt;
+
+    // Held by the node delivering a batch, so the row lock is not kept across the POST
+    private LocalDateTime leaseUntil;
+
+    // Skipped ids that may still commit, as "id:firstSeenMillis,..."; re-read each pass
+    @Column(columnDefinition = "TEXT")
+    private String openHoles;
+
+    @Column(length = 500)
+    private String lastError;
+
+    private LocalDateTime updatedAt;
+
+    public ClaimEventCursor(String subscriber) {
+        this.subscriber = subscriber;
+    }
+}
@@ -8,7 +8,10 @@ import lombok.Data;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "claim_status_history")
+@Table(name = "claim_status_history", indexes = {
+        // Per-claim history in order; the id rides along in the index for the ETag probe
+        @Index(name = "idx_history_claim_transitioned", columnList = "claim_id, transitioned_at")
+})
 @Data
 public class ClaimStatusHistory {
 
@@ -0,0 +1,109 @@
+package com.example.demo.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import com.example.demo.entity.Claim;
+import com.example.demo.entity.ClaimEvent;
+import com.example.demo.entity.ClaimStatus;
+import com.example.demo.entity.ClaimStatusHistory;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Set-based claim writes for bulk transitions, in plain JDBC so nothing
+ * passes through the persistence context. Must run inside a transaction:
+ * {@link #lockClaims} holds row locks until it commits.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ClaimBatchRepository {
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    // Each existing claim, locked against concurrent transitions; detached, so the state machine check can read it freely
+    public Map<Long, Claim> lockClaims(Collection<Long> ids) {
+
+        Map<Long, Claim> claims = new HashMap<>();
+
+        jdbc.query("select id, policy_number, amount, description, status, created_at, updated_at, version "
+                        + "from claims where id in (:ids) for update",
+                new MapSqlParameterSource("ids", ids),
+                rs -> {
+                    Claim c = new Claim();
+                    c.setId(rs.getLong("id"));
+                    c.setPolicyNumber(rs.getString("policy_number"));
+                    c.setAmount(rs.getObject("amount", Double.class));
+                    c.setDescription(rs.getString("description"));
+                    c.setStatus(ClaimStatus.valueOf(rs.getString("status")));
+                    c.setCreatedAt(rs.getObject("created_at", LocalDateTime.class));
+                    c.setUpdatedAt(rs.getObject("updated_at", LocalDateTime.class));
+                    c.setVersion(rs.getLong("version"));
+                    claims.put(c.getId(), c);
+                });
+
+        return claims;
+    }
+
+    public int updateStatus(Collection<Long> ids, ClaimStatus from, ClaimStatus to, LocalDateTime now) {
+
+        return jdbc.update("update claims set status = :to, updated_at = :now, version = version + 1 "
+                        + "where id in (:ids) and status = :from",
+                new MapSqlParameterSource()
+                        .addValue("ids", ids)
+                        .addValue("from", from.name())
+                        .addValue("to", to.name())
+                        .addValue("now", Timestamp.valueOf(now)));
+    }
+
+    // One JDBC batch; rewriteBatchedStatements turns it into multi-row INSERTs on MySQL
+    public void insertHistory(List<ClaimStatusHistory> rows) {
+
+        if (rows.isEmpty())
+            return;
+
+        MapSqlParameterSource[] params = rows.stream()
+                .map(h -> new MapSqlParameterSource()
+                        .addValue("claimId", h.getClaimId())
+                        .addValue("oldStatus", h.getOldStatus().name())
+                        .addValue("newStatus", h.getNewStatus().name())
+                        .addValue("at", Timestamp.valueOf(h.getTransitionedAt())))
+                .toArray(MapSqlParameterSource[]::new);
+
+        jdbc.batchUpdate("insert into claim_status_history (claim_id, old_status, new_status, transitioned_at) "
+                + "values (:claimId, :oldStatus, :newStatus, :at)", params);
+    }
+
+    // Outbox rows for the same transitions, also one batch; generated ids are set on the rows
+    public void insertEvents(List<ClaimEvent> rows) {
+
+        if (rows.isEmpty())
+            return;
+
+        MapSqlParameterSource[] params = rows.stream()
+                .map(e -> new MapSqlParameterSource()
+                        .addValue("claimId", e.getClaimId())
+                        .addValue("oldStatus", e.getOldStatus() == null ? null : e.getOldStatus().name())
+                        .addValue("newStatus", e.getNewStatus().name())
+                        .addValue("at", Timestamp.valueOf(e.getOccurredAt())))
+                .toArray(MapSqlParameterSource[]::new);
+
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbc.batchUpdate("insert into claim_events (claim_id, old_status, new_status, occurred_at) "
+                + "values (:claimId, :oldStatus, :newStatus, :at)", params, keys, new String[] { "id" });
+
+        List<Map<String, Object>> generated = keys.getKeyList();
+        for (int i = 0; i < rows.size() && i < generated.size(); i++)
+            rows.get(i).setId(((Number) generated.get(i).values().iterator().next()).longValue());
+    }
+}
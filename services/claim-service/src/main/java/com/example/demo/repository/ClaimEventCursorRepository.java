@@ -0,0 +1,23 @@
+package com.example.demo.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import com.example.demo.entity.ClaimEventCursor;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+public interface ClaimEventCursorRepository extends JpaRepository<ClaimEventCursor, String> {
+
+    // SKIP LOCKED: while one node relays to a subscriber, the others leave it alone
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select c from ClaimEventCursor c where c.subscriber = :subscriber")
+    Optional<ClaimEventCursor> lockBySubscriber(@Param("subscriber") String subscriber);
+}
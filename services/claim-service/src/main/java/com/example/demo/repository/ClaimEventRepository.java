@@ -0,0 +1,25 @@
+package com.example.demo.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.demo.entity.ClaimEvent;
+
+public interface ClaimEventRepository extends JpaRepository<ClaimEvent, Long> {
+
+    List<ClaimEvent> findByIdGreaterThanOrderByIdAsc(Long id, Pageable limit);
+
+    // Only events every subscriber has acknowledged
+    @Transactional
+    @Modifying
+    @Query("delete from ClaimEvent e where e.id <= :through and e.occurredAt < :before")
+    int deleteDeliveredBefore(@Param("through") long through,
+                              @Param("before") LocalDateTime before);
+}
@@ -1,16 +1,66 @@
 package com.example.demo.repository;
 
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import com.example.demo.dto.ClaimIdStatus;
+import com.example.demo.dto.ClaimListItem;
+import com.example.demo.dto.ClaimPolicyNumber;
 import com.example.demo.entity.Claim;
 import com.example.demo.entity.ClaimStatus;
 
 public interface ClaimRepository extends JpaRepository<Claim, Long> {
     List<Claim> findByPolicyNumberContaining(String policyNumber);
+
+    // Both served by idx_claims_policy_number
+    List<Claim> findByPolicyNumberOrderByIdAsc(String policyNumber);
+    List<Claim> findByPolicyNumberStartingWithOrderByIdAsc(String prefix);
+
+    // Feeds PolicyNumberIndex without loading whole entities
+    List<ClaimPolicyNumber> findByIdGreaterThanOrderByIdAsc(Long id, Pageable limit);
+    List<ClaimPolicyNumber> findByIdIn(Collection<Long> ids);
+
+    @Query("select max(c.id) from Claim c")
+    Optional<Long> findMaxId();
     List<Claim> findByStatus(ClaimStatus status);
 
+    // Status lookups by primary key, no entity loaded
+    @Query("select c.status from Claim c where c.id = :id")
+    Optional<ClaimStatus> findStatusById(@Param("id") Long id);
+
+    List<ClaimIdStatus> findIdAndStatusByIdIn(Collection<Long> ids);
+
+    // Compare-and-set in one round trip: 0 rows means someone else moved the claim first
+    @Modifying(clearAutomatically = true)
+    @Query("update Claim c set c.status = :to, c.updatedAt = :now, c.version = c.version + 1 "
+            + "where c.id = :id and c.status = :from")
+    int compareAndSetStatus(@Param("id") Long id,
+                            @Param("from") ClaimStatus from,
+                            @Param("to") ClaimStatus to,
+                            @Param("now") LocalDateTime now);
+
+    // Seeks on idx_claims_status_id; pass the page size only, never an offset
+    @Query("select new com.example.demo.dto.ClaimListItem(c.id, c.policyNumber, c.amount, c.status, c.createdAt) "
+            + "from Claim c where c.status = :status and c.id > :afterId order by c.id")
+    List<ClaimListItem> findPageByStatus(@Param("status") ClaimStatus status,
+                                         @Param("afterId") Long afterId,
+                                         Pageable limit);
+
+    // Same seek, across every status that can reach a given target
+    @Query("select new com.example.demo.dto.ClaimListItem(c.id, c.policyNumber, c.amount, c.status, c.createdAt) "
+            + "from Claim c where c.status in :statuses and c.id > :afterId order by c.id")
+    List<ClaimListItem> findPageByStatusIn(@Param("statuses") Collection<ClaimStatus> statuses,
+                                           @Param("afterId") Long afterId,
+                                           Pageable limit);
+
 }
 
@@ -0,0 +1,46 @@
+package com.example.demo.repository;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.example.demo.entity.ClaimStatus;
+
+import lombok.RequiredArgsConstructor;
+
+// Aggregate scans used only to seed ClaimStatusCounters at startup
+@Repository
+@RequiredArgsConstructor
+public class ClaimStatsRepository {
+
+    private final JdbcTemplate jdbc;
+
+    // Served from idx_claims_status_id without touching the rows
+    public Map<ClaimStatus, Long> countByStatus() {
+
+        Map<ClaimStatus, Long> counts = new EnumMap<>(ClaimStatus.class);
+
+        jdbc.query("select status, count(*) from claims where status is not null group by status",
+                rs -> {
+                    counts.put(ClaimStatus.valueOf(rs.getString(1)), rs.getLong(2));
+                });
+
+        return counts;
+    }
+
+    // {settled claims, total seconds from submit to SETTLED}
+    public long[] settlementTotals() {
+        return jdbc.queryForObject(
+                "select count(*), coalesce(sum(timestampdiff(second, c.created_at, h.transitioned_at)), 0) "
+                        + "from claim_status_history h join claims c on c.id = h.claim_id "
+                        + "where h.new_status = 'SETTLED'",
+                (rs, n) -> new long[] { rs.getLong(1), rs.getLong(2) });
+    }
+
+    public long maxEventId() {
+        Long max = jdbc.queryForObject("select max(id) from claim_events", Long.class);
+        return max == null ? 0 : max;
+    }
+}
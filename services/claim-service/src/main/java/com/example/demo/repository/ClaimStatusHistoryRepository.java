@@ -2,7 +2,10 @@ package com.example.demo.repository;
 
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import com.example.demo.dto.ClaimHistoryItem;
 import com.example.demo.entity.ClaimStatusHistory;
 
 import java.util.List;
@@ -11,4 +14,12 @@ public interface ClaimStatusHistoryRepository
         extends JpaRepository<ClaimStatusHistory, Long> {
 
     List<ClaimStatusHistory> findByClaimId(Long claimId);
+
+    // Both served by idx_history_claim_transitioned
+    @Query("select new com.example.demo.dto.ClaimHistoryItem(h.id, h.claimId, h.oldStatus, h.newStatus, h.transitionedAt) "
+            + "from ClaimStatusHistory h where h.claimId = :claimId order by h.transitionedAt, h.id")
+    List<ClaimHistoryItem> findItemsByClaimId(@Param("claimId") Long claimId);
+
+    @Query("select coalesce(max(h.id), 0) from ClaimStatusHistory h where h.claimId = :claimId")
+    long findLatestIdByClaimId(@Param("claimId") Long claimId);
 }
@@ -0,0 +1,257 @@
+package com.example.demo.service;
+
+import com.example.demo.config.ClaimEventProperties;
+import com.example.demo.dto.ClaimEventMessage;
+import com.example.demo.entity.ClaimEvent;
+import com.example.demo.entity.ClaimEventCursor;
+import com.example.demo.repository.ClaimEventCursorRepository;
+import com.example.demo.repository.ClaimEventRepository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Publishes claim_events to every configured subscriber.
+ *
+ * Each subscriber has a cursor row. A pass leases it in one short
+ * transaction, POSTs the next batch with no transaction or connection
+ * held, and moves the cursor in a second transaction only once the
+ * subscriber answered 2xx. A crash in between means the batch is sent
+ * again, so delivery is at-least-once and consumers dedupe on the event id.
+ * Failing subscribers back off on their own without holding up the rest.
+ *
+ * Event ids become visible at commit, not in id order. Ids skipped over
+ * are kept on the cursor and re-read every pass until they show up or the
+ * hole horizon passes, so an event that commits late is still delivered,
+ * after newer ones. Transitions of one claim serialize on the claim row,
+ * so its own events never overtake each other.
+ */
+@Slf4j
+@Component
+public class ClaimEventRelay {
+
+    private static final long MAX_BACKOFF_SECONDS = 60;
+
+    /* Bound on skipped ids kept on a cursor; the oldest are given up first */
+    private static final int MAX_PERSISTED_HOLES = 1000;
+
+    private final ClaimEventRepository events;
+    private final ClaimEventCursorRepository cursors;
+    private final ClaimEventProperties props;
+    private final TransactionTemplate tx;
+    private final RestTemplate http;
+
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    @Autowired
+    public ClaimEventRelay(ClaimEventRepository events,
+                           ClaimEventCursorRepository cursors,
+                           ClaimEventProperties props,
+                           TransactionTemplate tx,
+                           RestTemplateBuilder builder) {
+        this(events, cursors, props, tx, builder
+                .setConnectTimeout(Duration.ofSeconds(2))
+                .setReadTimeout(Duration.ofSeconds(5))
+                .build());
+    }
+
+    ClaimEventRelay(ClaimEventRepository events,
+                    ClaimEventCursorRepository cursors,
+                    ClaimEventProperties props,
+                    TransactionTemplate tx,
+                    RestTemplate http) {
+        this.events = events;
+        this.cursors = cursors;
+        this.props = props;
+        this.tx = tx;
+        this.http = http;
+    }
+
+    /* ================= RELAY ================= */
+    @Scheduled(fixedDelayString = "${claims.events.relay-interval-ms:1000}")
+    public void relay() {
+        relay(LocalDateTime.now(), System.currentTimeMillis());
+    }
+
+    int relay(LocalDateTime now, long nowMs) {
+
+        int total = 0;
+
+        for (Map.Entry<String, String> subscriber : props.getSubscribers().entrySet()) {
+            try {
+                // Full batches mean there is more waiting; keep going until caught up
+                int sent;
+                do {
+                    sent = relayTo(subscriber.getKey(), subscriber.getValue(), now, nowMs);
+                    total += sent;
+                } while (sent >= props.getBatchSize());
+            } catch (DataAccessException e) {
+                log.warn("Claim event relay to {} failed: {}", subscriber.getKey(), e.getMessage());
+            }
+        }
+        return total;
+    }
+
+    /* One batch to one subscriber; returns the number of events acknowledged */
+    private int relayTo(String subscriber, String url, LocalDateTime now, long nowMs) {
+
+        ClaimEventCursor cursor = tx.execute(s -> lease(subscriber, now));
+        if (cursor == null)
+            return 0;
+
+        IdTail position = position(cursor);
+
+        List<ClaimEvent> batch = new ArrayList<>(events.findByIdGreaterThanOrderByIdAsc(
+                position.scanned(), PageRequest.ofSize(props.getBatchSize())));
+        batch.forEach(e -> position.read(e.getId(), nowMs));
+
+        // Skipped earlier, committed since
+        List<Long> holes = position.openHoles(nowMs);
+        if (!holes.isEmpty()) {
+            List<ClaimEvent> late = events.findAllById(holes.subList(0, Math.min(holes.size(), props.getBatchSize())));
+            late.forEach(e -> position.filled(e.getId()));
+            batch.addAll(late);
+            batch.sort(Comparator.comparing(ClaimEvent::getId));
+        }
+
+        if (!batch.isEmpty()) {
+            try {
+                http.postForEntity(url, batch.stream().map(ClaimEventMessage::of).toList(), Void.class);
+            } catch (RestClientException e) {
+                tx.executeWithoutResult(s -> retryLater(subscriber, now, e));
+                return 0;
+            }
+        }
+
+        tx.executeWithoutResult(s -> release(subscriber, position, now, !batch.isEmpty()));
+
+        delivered.add(batch.size());
+        return batch.size();
+    }
+
+    /* Takes the cursor for one pass, or null if it is not due or another node has it */
+    private ClaimEventCursor lease(String subscriber, LocalDateTime now) {
+
+        ClaimEventCursor cursor = cursors.lockBySubscriber(subscriber).orElse(null);
+
+        // New subscriber: start from whatever is still retained
+        if (cursor == null) {
+            cursors.save(new ClaimEventCursor(subscriber));
+            return null;
+        }
+
+        if (cursor.getNextAttemptAt() != null && cursor.getNextAttemptAt().isAfter(now))
+            return null;
+        if (cursor.getLeaseUntil() != null && cursor.getLeaseUntil().isAfter(now))
+            return null;
+
+        cursor.setLeaseUntil(now.plusNanos(props.getLeaseMs() * 1_000_000));
+        return cursor;
+    }
+
+    private void release(String subscriber, IdTail position, LocalDateTime now, boolean sent) {
+
+        ClaimEventCursor cursor = cursors.findById(subscriber).orElseThrow();
+
+        cursor.setLastEventId(position.scanned());
+        cursor.setOpenHoles(encode(position.holes()));
+        cursor.setLeaseUntil(null);
+        if (sent) {
+            cursor.setFailures(0);
+            cursor.setNextAttemptAt(null);
+            cursor.setLastError(null);
+            cursor.setUpdatedAt(now);
+        }
+    }
+
+    private IdTail position(ClaimEventCursor cursor) {
+
+        IdTail position = new IdTail(0, props.getHoleHorizonMs());
+        position.seed(cursor.getLastEventId());
+
+        if (cursor.getOpenHoles() != null && !cursor.getOpenHoles().isEmpty()) {
+            for (String hole : cursor.getOpenHoles().split(",")) {
+                int sep = hole.indexOf(':');
+                position.restore(Long.parseLong(hole.substring(0, sep)), Long.parseLong(hole.substring(sep + 1)));
+            }
+        }
+        return position;
+    }
+
+    // Newest holes are the likeliest to still commit, so those are kept
+    private static String encode(Map<Long, Long> holes) {
+
+        if (holes.isEmpty())
+            return null;
+
+        return holes.entrySet().stream()
+                .skip(Math.max(0, holes.size() - MAX_PERSISTED_HOLES))
+                .map(h -> h.getKey() + ":" + h.getValue())
+                .collect(Collectors.joining(","));
+    }
+
+    private void retryLater(String subscriber, LocalDateTime now, Exception error) {
+
+        ClaimEventCursor cursor = cursors.findById(subscriber).orElseThrow();
+        cursor.setLeaseUntil(null);
+
+        failed.increment();
+        cursor.setFailures(cursor.getFailures() + 1);
+
+        // 2s, 4s, 8s, ... capped so a recovered subscriber is picked up soon
+        long delay = Math.min(MAX_BACKOFF_SECONDS, 1L << Math.min(cursor.getFailures(), 6));
+        cursor.setNextAttemptAt(now.plusSeconds(delay));
+        cursor.setLastError(truncate(error.getMessage()));
+        cursor.setUpdatedAt(now);
+
+        log.warn("Claim event delivery to {} failed ({} in a row): {}",
+                cursor.getSubscriber(), cursor.getFailures(), error.getMessage());
+    }
+
+    /* ================= HOUSEKEEPING ================= */
+    @Scheduled(fixedDelayString = "${claims.events.cleanup-interval-ms:3600000}")
+    public void purgeDelivered() {
+
+        // Nothing is dropped that a configured subscriber has not acknowledged yet
+        long through = Long.MAX_VALUE;
+        for (String subscriber : props.getSubscribers().keySet())
+            through = Math.min(through, cursors.findById(subscriber)
+                    .map(ClaimEventCursor::getLastEventId)
+                    .orElse(0L));
+
+        events.deleteDeliveredBefore(through, LocalDateTime.now().minusNanos(props.getRetentionMs() * 1_000_000));
+    }
+
+    private static String truncate(String message) {
+        if (message == null)
+            return null;
+        return message.length() <= 500 ? message : message.substring(0, 500);
+    }
+
+    /* ================= STATS ================= */
+    public long deliveredCount() {
+        return delivered.sum();
+    }
+
+    public long failedCount() {
+        return failed.sum();
+    }
+}
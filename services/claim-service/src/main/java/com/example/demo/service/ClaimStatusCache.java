@@ -0,0 +1,122 @@
+package com.example.demo.service;
+
+import com.example.demo.entity.ClaimStatus;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of claim status by id.
+ *
+ * Writes on this instance invalidate synchronously; the TTL bounds how
+ * long a transition made on another instance can go unseen. A value read
+ * from the DB is only stored if that id was not invalidated since the read
+ * started (see {@link #stamp(Long)}), so a slow reader cannot put back a
+ * status that a concurrent update has already replaced. Versions live in a
+ * fixed array of slots keyed by id hash: an update only races reads of the
+ * few ids sharing its slot, and the bookkeeping never grows.
+ */
+@Component
+public class ClaimStatusCache {
+
+    private static final int VERSION_SLOTS = 4096;
+
+    private final int maxSize;
+    private final long ttlMillis;
+
+    private final LruCache<Long, Entry> entries;
+
+    private final AtomicLongArray versions = new AtomicLongArray(VERSION_SLOTS);
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public ClaimStatusCache(@Value("${claims.status-cache.max-size:100000}") int maxSize,
+                            @Value("${claims.status-cache.ttl-ms:5000}") long ttlMillis) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        this.entries = new LruCache<>(Math.max(1, maxSize));
+    }
+
+    /* ================= LOOKUP ================= */
+    public ClaimStatus get(Long id) {
+
+        Entry entry = entries.get(id);
+
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+
+        if (entry.expiresAt() <= System.currentTimeMillis()) {
+            entries.remove(id, entry);
+            misses.increment();
+            return null;
+        }
+
+        hits.increment();
+        return entry.status();
+    }
+
+    /* ================= STORE ================= */
+    // Take before reading the DB and pass to put()
+    public long stamp(Long id) {
+        return versions.get(slot(id));
+    }
+
+    public void put(Long id, ClaimStatus status, long stamp) {
+
+        int slot = slot(id);
+        if (maxSize <= 0 || versions.get(slot) != stamp)
+            return;
+
+        Entry entry = new Entry(status, System.currentTimeMillis() + ttlMillis);
+        entries.put(id, entry);
+
+        // An invalidation may have slipped in between the check and the put
+        if (versions.get(slot) != stamp)
+            entries.remove(id, entry);
+    }
+
+    /* ================= INVALIDATION ================= */
+    // Bump before removing, so a put racing with this sees the new version
+    public void invalidate(Long id) {
+        versions.incrementAndGet(slot(id));
+        entries.remove(id);
+    }
+
+    public void invalidateAll(Collection<Long> ids) {
+        ids.forEach(this::invalidate);
+    }
+
+    private static int slot(Long id) {
+        long h = id * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 52) & (VERSION_SLOTS - 1);
+    }
+
+    /* ================= STATS ================= */
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public double hitRatio() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private record Entry(ClaimStatus status, long expiresAt) {
+    }
+}
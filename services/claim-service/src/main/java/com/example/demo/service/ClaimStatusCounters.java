@@ -0,0 +1,256 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.ClaimSummary;
+import com.example.demo.entity.Claim;
+import com.example.demo.entity.ClaimEvent;
+import com.example.demo.entity.ClaimStatus;
+import com.example.demo.repository.ClaimEventRepository;
+import com.example.demo.repository.ClaimRepository;
+import com.example.demo.repository.ClaimStatsRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Per-status claim counts and settlement-time totals, kept in memory so
+ * the summary feed never scans claims or claim_status_history.
+ *
+ * Seeded with one aggregate pass at startup, then kept current from the
+ * claim_events outbox, which carries transitions made on every instance.
+ * Transitions made here are applied as soon as they commit; their event
+ * ids are remembered so the tail does not count them a second time.
+ *
+ * Deltas commute, so the tail applies events past a hole straight away and
+ * re-reads the hole until it fills. Anything that still slips through (a
+ * commit later than the hole horizon, a local commit racing a rebuild) is
+ * corrected by the periodic rebuild.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ClaimStatusCounters {
+
+    private static final int TAIL_BATCH = 1000;
+
+    /* How long a hole in the event ids is re-read before it counts as a rollback */
+    private static final long HOLE_HORIZON_MS = 600_000;
+
+    private static final ClaimStatus[] STATES = ClaimStatus.values();
+
+    private final ClaimStatsRepository stats;
+    private final ClaimEventRepository events;
+    private final ClaimRepository claimRepo;
+    private final TransactionTemplate tx;
+
+    private final AtomicReference<Counts> counts = new AtomicReference<>(Counts.EMPTY);
+
+    /* event ids written by this instance whose delta is applied locally */
+    private final Set<Long> local = ConcurrentHashMap.newKeySet();
+
+    private final ReentrantLock tailLock = new ReentrantLock();
+
+    /* Counts never wait on a hole, so only the horizon matters */
+    private final IdTail position = new IdTail(0, HOLE_HORIZON_MS);
+
+    private volatile boolean ready;
+
+    /* ================= SEED + TAIL ================= */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        try {
+            rebuild();
+        } catch (DataAccessException e) {
+            log.warn("Claim counters rebuild failed, retrying on next tail: {}", e.getMessage());
+        }
+    }
+
+    // One snapshot: the counts and the event id they include are read in the same transaction
+    void rebuild() {
+        tailLock.lock();
+        try {
+            tx.executeWithoutResult(s -> {
+                long maxEvent = stats.maxEventId();
+                Map<ClaimStatus, Long> byStatus = stats.countByStatus();
+                long[] settled = stats.settlementTotals();
+
+                long[] c = new long[STATES.length];
+                byStatus.forEach((status, n) -> c[status.ordinal()] = n);
+
+                counts.set(new Counts(c, settled[0], settled[1]));
+                position.seed(maxEvent);
+            });
+            local.clear();
+            ready = true;
+        } finally {
+            tailLock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${claims.summary.tail-interval-ms:2000}")
+    public void tail() {
+        try {
+            if (!ready)
+                rebuild();
+            else
+                catchUp(System.currentTimeMillis());
+        } catch (DataAccessException e) {
+            log.warn("Claim counters catch-up failed: {}", e.getMessage());
+        }
+    }
+
+    // Reconciles whatever drift the tail could not see
+    @Scheduled(fixedDelayString = "${claims.summary.rebuild-interval-ms:3600000}",
+               initialDelayString = "${claims.summary.rebuild-interval-ms:3600000}")
+    public void reconcile() {
+        try {
+            rebuild();
+        } catch (DataAccessException e) {
+            log.warn("Claim counters rebuild failed: {}", e.getMessage());
+        }
+    }
+
+    void catchUp(long now) {
+
+        tailLock.lock();
+        try {
+            List<ClaimEvent> rows;
+            do {
+                rows = events.findByIdGreaterThanOrderByIdAsc(position.scanned(), PageRequest.ofSize(TAIL_BATCH));
+                applyAll(rows);
+                rows.forEach(e -> position.read(e.getId(), now));
+            } while (rows.size() == TAIL_BATCH);
+
+            // Holes left behind may still commit
+            List<Long> holes = position.openHoles(now);
+            if (!holes.isEmpty()) {
+                List<ClaimEvent> late = events.findAllById(holes.subList(0, Math.min(holes.size(), TAIL_BATCH)));
+                applyAll(late);
+                late.forEach(e -> position.filled(e.getId()));
+            }
+        } finally {
+            tailLock.unlock();
+        }
+    }
+
+    private void applyAll(List<ClaimEvent> rows) {
+
+        Map<Long, LocalDateTime> submittedAt = submittedAt(rows);
+
+        for (ClaimEvent e : rows) {
+            if (!local.remove(e.getId()))
+                apply(e.getOldStatus(), e.getNewStatus(),
+                        settlementSeconds(e.getNewStatus(), submittedAt.get(e.getClaimId()), e.getOccurredAt()));
+        }
+    }
+
+    /* ================= LOCAL WRITES ================= */
+    // Call inside the writing transaction; the delta lands only if it commits
+    public void record(ClaimEvent event, LocalDateTime submittedAt) {
+
+        // Not seeded yet: the tail will pick this event up after the rebuild
+        if (!ready || !TransactionSynchronizationManager.isSynchronizationActive())
+            return;
+
+        Long id = event.getId();
+        local.add(id);
+
+        long seconds = settlementSeconds(event.getNewStatus(), submittedAt, event.getOccurredAt());
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED)
+                    apply(event.getOldStatus(), event.getNewStatus(), seconds);
+                else
+                    local.remove(id);
+            }
+        });
+    }
+
+    private void apply(ClaimStatus from, ClaimStatus to, long settlementSeconds) {
+        counts.updateAndGet(c -> c.apply(from, to, settlementSeconds));
+    }
+
+    /* ================= READ ================= */
+    public boolean isReady() {
+        return ready;
+    }
+
+    public ClaimSummary summary() {
+
+        Counts c = counts.get();
+
+        long total = 0;
+        Map<ClaimStatus, Long> byStatus = new EnumMap<>(ClaimStatus.class);
+        for (ClaimStatus s : STATES) {
+            total += c.byStatus[s.ordinal()];
+            byStatus.put(s, c.byStatus[s.ordinal()]);
+        }
+
+        double avgHours = c.settled == 0 ? 0.0 : c.settlementSeconds / 3600.0 / c.settled;
+
+        return new ClaimSummary(total,
+                c.byStatus[ClaimStatus.APPROVED.ordinal()] + c.byStatus[ClaimStatus.SETTLED.ordinal()],
+                c.byStatus[ClaimStatus.REJECTED.ordinal()],
+                avgHours,
+                byStatus);
+    }
+
+    private Map<Long, LocalDateTime> submittedAt(List<ClaimEvent> rows) {
+
+        List<Long> settledIds = rows.stream()
+                .filter(e -> e.getNewStatus() == ClaimStatus.SETTLED && !local.contains(e.getId()))
+                .map(ClaimEvent::getClaimId)
+                .toList();
+
+        Map<Long, LocalDateTime> created = new HashMap<>();
+        if (!settledIds.isEmpty())
+            for (Claim claim : claimRepo.findAllById(settledIds))
+                created.put(claim.getId(), claim.getCreatedAt());
+        return created;
+    }
+
+    private static long settlementSeconds(ClaimStatus to, LocalDateTime submittedAt, LocalDateTime at) {
+        if (to != ClaimStatus.SETTLED || submittedAt == null || at == null)
+            return -1;
+        return Duration.between(submittedAt, at).getSeconds();
+    }
+
+    /* Immutable, so readers always see one consistent set of numbers */
+    private record Counts(long[] byStatus, long settled, long settlementSeconds) {
+
+        static final Counts EMPTY = new Counts(new long[STATES.length], 0, 0);
+
+        Counts apply(ClaimStatus from, ClaimStatus to, long settlementSeconds) {
+
+            long[] next = byStatus.clone();
+            if (from != null)
+                next[from.ordinal()]--;
+            next[to.ordinal()]++;
+
+            return settlementSeconds < 0
+                    ? new Counts(next, settled, this.settlementSeconds)
+                    : new Counts(next, settled + 1, this.settlementSeconds + settlementSeconds);
+        }
+    }
+}
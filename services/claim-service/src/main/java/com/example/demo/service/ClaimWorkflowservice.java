@@ -1,21 +1,49 @@
 package com.example.demo.service;  // ✅ lowercase 'service'
 
+import com.example.demo.dto.BulkTransitionResponse;
+import com.example.demo.dto.BulkTransitionResult;
 import com.example.demo.dto.ClaimDto;
+import com.example.demo.dto.ClaimHistoryItem;
+import com.example.demo.dto.ClaimIdStatus;
+import com.example.demo.dto.ClaimListItem;
+import com.example.demo.dto.ClaimPage;
+import com.example.demo.dto.WorkflowDefinition;
 import com.example.demo.entity.Claim;
+import com.example.demo.entity.ClaimEvent;
 import com.example.demo.entity.ClaimStatus;
 import com.example.demo.entity.ClaimStatusHistory;
 import com.example.demo.exception.ClaimNotFoundException;
+import com.example.demo.exception.InvalidTransitionException;
+import com.example.demo.repository.ClaimBatchRepository;
+import com.example.demo.repository.ClaimEventRepository;
 import com.example.demo.repository.ClaimRepository;
 import com.example.demo.repository.ClaimStatusHistoryRepository;
-import com.example.demo.workflow.ClaimWorkflowValidator;
+import com.example.demo.workflow.ClaimStateMachine;
 
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 @Data
 @Service
@@ -26,6 +54,12 @@ public class ClaimWorkflowservice {
     // ✅ ONLY inject repositories - NO Application class!
     private final ClaimRepository claimRepo;
     private final ClaimStatusHistoryRepository historyRepo;
+    private final PolicyNumberIndex policyIndex;
+    private final ClaimBatchRepository batchRepo;
+    private final ClaimEventRepository eventRepo;
+    private final ClaimStatusCounters counters;
+    private final ClaimStatusCache statusCache;
+    private final TransactionTemplate tx;
 
     // ✅ DELETE THIS constructor - @RequiredArgsConstructor handles it
     // ClaimWorkflowService(ClaimServiceApplication claimServiceApplication) { ... }
@@ -38,51 +72,332 @@ public class ClaimWorkflowservice {
         claim.setStatus(ClaimStatus.SUBMITTED);
         claim.setCreatedAt(LocalDateTime.now());
         
-        return claimRepo.save(claim);
+        Claim saved = claimRepo.save(claim);
+
+        // ✅ Outbox row commits or rolls back with the claim itself
+        ClaimEvent submitted = eventRepo.save(event(saved.getId(), null, ClaimStatus.SUBMITTED, saved.getCreatedAt()));
+        counters.record(submitted, saved.getCreatedAt());
+
+        // ✅ Searchable here right after commit; other instances pick it up by tailing
+        afterCommit(() -> policyIndex.add(saved.getId(), saved.getPolicyNumber()));
+
+        return saved;
     }
 
+    // ✅ READ_COMMITTED so a retry re-reads what the winning writer committed
+    @Transactional(isolation = Isolation.READ_COMMITTED)
     public Claim updateStatus(Long claimId, ClaimStatus newStatus) {
-        Claim claim = claimRepo.findById(claimId)
-            .orElseThrow(() -> new RuntimeException("Claim not found: " + claimId));
 
-        // ✅ Use your validator
-        if (!ClaimWorkflowValidator.isValidTransition(claim.getStatus(), newStatus)) {
-            throw new IllegalStateException("Invalid transition: " + 
-                claim.getStatus() + " → " + newStatus);
+        // ✅ Dropped before the write and again after commit, so no reader keeps the old status
+        statusCache.invalidate(claimId);
+
+        for (int attempt = 1; ; attempt++) {
+
+            Claim claim = claimRepo.findById(claimId)
+                .orElseThrow(() -> new RuntimeException("Claim not found: " + claimId));
+
+            // ✅ Table check against the status we read
+            ClaimStatus oldStatus = claim.getStatus();
+            ClaimStateMachine.CLAIMS.check(claim, newStatus);
+
+            LocalDateTime now = LocalDateTime.now();
+
+            // ✅ Only applies if nobody moved the claim since the read
+            if (claimRepo.compareAndSetStatus(claimId, oldStatus, newStatus, now) == 1) {
+
+                // ✅ Audit trail, exactly one row per applied transition
+                ClaimStatusHistory history = new ClaimStatusHistory();
+                history.setClaimId(claimId);
+                history.setOldStatus(oldStatus);
+                history.setNewStatus(newStatus);
+                history.setTransitionedAt(now);
+                historyRepo.save(history);
+                ClaimEvent event = eventRepo.save(event(claimId, oldStatus, newStatus, now));
+                counters.record(event, claim.getCreatedAt());
+
+                claim.setStatus(newStatus);
+                claim.setUpdatedAt(now);
+                claim.setVersion(claim.getVersion() + 1);
+
+                afterCommit(() -> statusCache.invalidate(claimId));
+
+                return claim;
+            }
+
+            // Lost the race: the re-read either allows the move again or fails the check
+            if (attempt == MAX_TRANSITION_ATTEMPTS)
+                throw new OptimisticLockingFailureException(
+                        "Claim " + claimId + " changed concurrently " + attempt + " times, giving up");
         }
+    }
 
-        ClaimStatus oldStatus = claim.getStatus();
-        claim.setStatus(newStatus);
-        claim.setUpdatedAt(LocalDateTime.now());
-        
-        Claim savedClaim = claimRepo.save(claim);
+    // ✅ Many claims, one target: a short transaction per chunk, never one per claim
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BulkTransitionResponse bulkUpdateStatus(List<Long> claimIds, ClaimStatus newStatus) {
+
+        List<Long> ids = claimIds == null ? List.of() : new ArrayList<>(new LinkedHashSet<>(claimIds));
+        Map<Long, BulkTransitionResult> results = new HashMap<>();
 
-        // ✅ Audit trail
-        ClaimStatusHistory history = new ClaimStatusHistory();
-        history.setClaimId(claimId);
-        history.setOldStatus(oldStatus);
-        history.setNewStatus(newStatus);
-        history.setTransitionedAt(LocalDateTime.now());
-        historyRepo.save(history);
+        for (int from = 0; from < ids.size(); from += BULK_CHUNK) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + BULK_CHUNK));
+            try {
+                tx.executeWithoutResult(status -> transitionChunk(chunk, newStatus, results));
+            } catch (RuntimeException e) {
+                // ✅ This chunk rolled back as a whole; earlier chunks stay committed and later ones still run
+                for (Long id : chunk) {
+                    BulkTransitionResult seen = results.get(id);
+                    if (seen == null || seen.isSuccess())
+                        results.put(id, new BulkTransitionResult(id, false, seen == null ? null : seen.getOldStatus(),
+                                "Not applied: " + e.getMessage()));
+                }
+            }
+        }
 
-        return savedClaim;
+        List<BulkTransitionResult> ordered = ids.stream().map(results::get).toList();
+        int applied = (int) ordered.stream().filter(BulkTransitionResult::isSuccess).count();
+
+        return new BulkTransitionResponse(newStatus, applied, ordered.size() - applied, ordered);
+    }
+
+    private void transitionChunk(List<Long> chunk, ClaimStatus newStatus,
+                                 Map<Long, BulkTransitionResult> results) {
+
+        statusCache.invalidateAll(chunk);
+
+        // ✅ One locking read for the chunk, so the checks below cannot go stale
+        Map<Long, Claim> current = batchRepo.lockClaims(chunk);
+        Map<ClaimStatus, List<Claim>> bySource = new EnumMap<>(ClaimStatus.class);
+
+        for (Long id : chunk) {
+            Claim claim = current.get(id);
+
+            if (claim == null) {
+                results.put(id, new BulkTransitionResult(id, false, null, "Claim not found"));
+                continue;
+            }
+
+            // ✅ Same table check as a single updateStatus
+            try {
+                ClaimStateMachine.CLAIMS.check(claim, newStatus);
+                bySource.computeIfAbsent(claim.getStatus(), s -> new ArrayList<>()).add(claim);
+            } catch (InvalidTransitionException e) {
+                results.put(id, new BulkTransitionResult(id, false, claim.getStatus(), e.getMessage()));
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<ClaimStatusHistory> history = new ArrayList<>();
+        List<ClaimEvent> events = new ArrayList<>();
+        List<Claim> moved = new ArrayList<>();
+
+        // ✅ One UPDATE per source status, not per claim
+        bySource.forEach((oldStatus, claims) -> {
+            batchRepo.updateStatus(claims.stream().map(Claim::getId).toList(), oldStatus, newStatus, now);
+
+            for (Claim claim : claims) {
+                ClaimStatusHistory h = new ClaimStatusHistory();
+                h.setClaimId(claim.getId());
+                h.setOldStatus(oldStatus);
+                h.setNewStatus(newStatus);
+                h.setTransitionedAt(now);
+                history.add(h);
+                events.add(event(claim.getId(), oldStatus, newStatus, now));
+                moved.add(claim);
+            }
+        });
+
+        batchRepo.insertHistory(history);
+        batchRepo.insertEvents(events);
+
+        // ✅ Counters per claim, exactly as updateStatus does after its write
+        for (int i = 0; i < moved.size(); i++) {
+            Claim claim = moved.get(i);
+            ClaimStatus oldStatus = claim.getStatus();
+
+            counters.record(events.get(i), claim.getCreatedAt());
+
+            claim.setStatus(newStatus);
+            claim.setUpdatedAt(now);
+            claim.setVersion(claim.getVersion() + 1);
+
+            results.put(claim.getId(), new BulkTransitionResult(claim.getId(), true, oldStatus, null));
+        }
+
+        afterCommit(() -> statusCache.invalidateAll(chunk));
+    }
+
+    private static ClaimEvent event(Long claimId, ClaimStatus oldStatus, ClaimStatus newStatus, LocalDateTime at) {
+        ClaimEvent event = new ClaimEvent();
+        event.setClaimId(claimId);
+        event.setOldStatus(oldStatus);
+        event.setNewStatus(newStatus);
+        event.setOccurredAt(at);
+        return event;
     }
 
     public List<Claim> getClaimsByUser(String userId) {
-        return claimRepo.findByPolicyNumberContaining(userId);
+
+        // Still loading after startup: fall back to the table scan
+        if (!policyIndex.isReady())
+            return claimRepo.findByPolicyNumberContaining(userId);
+
+        List<Claim> claims = new ArrayList<>(claimRepo.findAllById(policyIndex.search(userId)));
+        claims.sort(Comparator.comparing(Claim::getId));
+        return claims;
     }
 
+    public List<Claim> getClaimsByPolicyNumber(String policyNumber) {
+        return claimRepo.findByPolicyNumberOrderByIdAsc(policyNumber);
+    }
+
+    public List<Claim> getClaimsByPolicyPrefix(String prefix) {
+        return claimRepo.findByPolicyNumberStartingWithOrderByIdAsc(prefix);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    // ✅ SUPPORTS: a cache hit never opens a transaction or takes a connection
+    @Transactional(propagation = Propagation.SUPPORTS)
     public ClaimStatus getStatus(Long id) {
-        return claimRepo.findById(id)
-            .orElseThrow(() -> new ClaimNotFoundException(id))
-            .getStatus();
+
+        ClaimStatus cached = statusCache.get(id);
+        if (cached != null)
+            return cached;
+
+        long stamp = statusCache.stamp(id);
+        ClaimStatus status = claimRepo.findStatusById(id)
+            .orElseThrow(() -> new ClaimNotFoundException(id));
+
+        statusCache.put(id, status, stamp);
+        return status;
     }
 
-    public List<ClaimStatusHistory> getHistory(Long id) {
-        return historyRepo.findByClaimId(id);
+    // ✅ Many ids in one call: cache first, then one query per chunk of misses
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Map<Long, ClaimStatus> getStatuses(Collection<Long> ids) {
+
+        Map<Long, ClaimStatus> statuses = new LinkedHashMap<>();
+        List<Long> missing = new ArrayList<>();
+
+        for (Long id : new LinkedHashSet<>(ids)) {
+            if (id == null)
+                continue;
+            ClaimStatus cached = statusCache.get(id);
+            if (cached != null)
+                statuses.put(id, cached);
+            else
+                missing.add(id);
+        }
+
+        for (int from = 0; from < missing.size(); from += LOOKUP_CHUNK) {
+            List<Long> chunk = missing.subList(from, Math.min(missing.size(), from + LOOKUP_CHUNK));
+
+            Map<Long, Long> stamps = new HashMap<>();
+            chunk.forEach(id -> stamps.put(id, statusCache.stamp(id)));
+
+            for (ClaimIdStatus row : claimRepo.findIdAndStatusByIdIn(chunk)) {
+                statuses.put(row.getId(), row.getStatus());
+                statusCache.put(row.getId(), row.getStatus(), stamps.get(row.getId()));
+            }
+        }
+
+        // Unknown ids are simply absent
+        return statuses;
+    }
+
+    @Transactional(readOnly = true)
+    public List<ClaimHistoryItem> getHistory(Long id) {
+        return historyRepo.findItemsByClaimId(id);
+    }
+
+    // ✅ History is append-only, so the newest row id identifies its content
+    @Transactional(readOnly = true)
+    public long getLatestHistoryId(Long id) {
+        return historyRepo.findLatestIdByClaimId(id);
     }
 
     public List<Claim> getClaimsByStatus(ClaimStatus status) {
         return claimRepo.findByStatus(status);
     }
+
+    static final int MAX_TRANSITION_ATTEMPTS = 3;
+    static final int BULK_CHUNK = 500;
+    private static final int LOOKUP_CHUNK = 1000;
+
+    public static final int MAX_PAGE_SIZE = 500;
+    public static final int MAX_LOOKUP_IDS = BULK_CHUNK;
+    private static final int STREAM_CHUNK = 1000;
+
+    // ✅ Keyset page: cost is the same for page 1 and page 10,000
+    @Transactional(readOnly = true)
+    public ClaimPage getClaimPageByStatus(ClaimStatus status, Long afterId, int size) {
+
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        List<ClaimListItem> items = claimRepo.findPageByStatus(
+                status, afterId == null ? 0L : afterId, PageRequest.ofSize(limit));
+
+        Long next = items.size() < limit ? null : items.get(items.size() - 1).getId();
+        return new ClaimPage(items, next);
+    }
+
+    // ✅ Every claim that may legally move to the target, in one keyset-paged query
+    @Transactional(readOnly = true)
+    public ClaimPage getClaimsMovableTo(ClaimStatus target, Long afterId, int size) {
+
+        EnumSet<ClaimStatus> sources = ClaimStateMachine.CLAIMS.sourcesOf(target);
+        if (sources.isEmpty())
+            return new ClaimPage(List.of(), null);
+
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        List<ClaimListItem> items = claimRepo.findPageByStatusIn(
+                sources, afterId == null ? 0L : afterId, PageRequest.ofSize(limit));
+
+        Long next = items.size() < limit ? null : items.get(items.size() - 1).getId();
+        return new ClaimPage(items, next);
+    }
+
+    public WorkflowDefinition getWorkflowDefinition() {
+
+        ClaimStateMachine machine = ClaimStateMachine.CLAIMS;
+
+        Map<String, List<String>> transitions = new LinkedHashMap<>();
+        List<String> terminal = new ArrayList<>();
+
+        machine.definition().forEach((from, targets) -> {
+            transitions.put(from.name(), targets.stream().map(Enum::name).toList());
+            if (targets.isEmpty())
+                terminal.add(from.name());
+        });
+
+        return new WorkflowDefinition(machine.initial().name(), transitions, terminal);
+    }
+
+    // ✅ One short read per chunk, so a slow consumer never holds a connection open
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void forEachClaimByStatus(ClaimStatus status, Consumer<ClaimListItem> sink) {
+
+        long afterId = 0;
+        List<ClaimListItem> chunk;
+
+        do {
+            chunk = claimRepo.findPageByStatus(status, afterId, PageRequest.ofSize(STREAM_CHUNK));
+            for (ClaimListItem item : chunk) {
+                sink.accept(item);
+                afterId = item.getId();
+            }
+        } while (chunk.size() == STREAM_CHUNK);
+    }
 }
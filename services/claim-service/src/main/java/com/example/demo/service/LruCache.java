@@ -0,0 +1,122 @@
+package com.example.demo.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+/**
+ * Size-bounded map that drops its least recently used entry on overflow.
+ *
+ * Keys are spread over a few access-ordered {@link LinkedHashMap}s, each
+ * behind its own lock, so eviction is O(1) per put and concurrent callers
+ * rarely contend. Small caches get a single stripe, so the order is exact;
+ * either way the total never exceeds {@code maxSize}.
+ */
+public final class LruCache<K, V> {
+
+    private static final int MAX_STRIPES = 16;
+
+    /* Below this many entries per stripe, LRU order gets too coarse to be worth splitting */
+    private static final int MIN_PER_STRIPE = 64;
+
+    private final Stripe<K, V>[] stripes;
+
+    @SuppressWarnings("unchecked")
+    public LruCache(int maxSize) {
+
+        int count = 1;
+        while (count < MAX_STRIPES && maxSize >= 2 * count * MIN_PER_STRIPE)
+            count *= 2;
+
+        stripes = new Stripe[count];
+        for (int i = 0; i < count; i++)
+            stripes[i] = new Stripe<>(Math.max(1, maxSize / count));
+    }
+
+    public V get(K key) {
+        Stripe<K, V> s = stripe(key);
+        s.lock.lock();
+        try {
+            return s.map.get(key);
+        } finally {
+            s.lock.unlock();
+        }
+    }
+
+    public void put(K key, V value) {
+        Stripe<K, V> s = stripe(key);
+        s.lock.lock();
+        try {
+            s.map.put(key, value);
+        } finally {
+            s.lock.unlock();
+        }
+    }
+
+    public void remove(K key) {
+        Stripe<K, V> s = stripe(key);
+        s.lock.lock();
+        try {
+            s.map.remove(key);
+        } finally {
+            s.lock.unlock();
+        }
+    }
+
+    /* Removes key only while it still maps to value */
+    public void remove(K key, V value) {
+        Stripe<K, V> s = stripe(key);
+        s.lock.lock();
+        try {
+            s.map.remove(key, value);
+        } finally {
+            s.lock.unlock();
+        }
+    }
+
+    /* Full scan; for housekeeping, never the request path */
+    public void removeIf(Predicate<V> filter) {
+        for (Stripe<K, V> s : stripes) {
+            s.lock.lock();
+            try {
+                s.map.values().removeIf(filter);
+            } finally {
+                s.lock.unlock();
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe<K, V> s : stripes) {
+            s.lock.lock();
+            try {
+                size += s.map.size();
+            } finally {
+                s.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    private Stripe<K, V> stripe(K key) {
+        int h = key.hashCode();
+        return stripes[(h ^ (h >>> 16)) & (stripes.length - 1)];
+    }
+
+    private static final class Stripe<K, V> {
+
+        final ReentrantLock lock = new ReentrantLock();
+        final LinkedHashMap<K, V> map;
+
+        Stripe(int capacity) {
+            map = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.ClaimPolicyNumber;
+import com.example.demo.repository.ClaimRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram index over Claim.policyNumber for substring search.
+ *
+ * Every policy number is lower-cased and split into overlapping 3-char
+ * grams; a lookup walks the shortest posting list among the query's grams
+ * and confirms each candidate with a plain contains(). Policy numbers never
+ * change after submit, so the index is append-only: it is loaded at startup
+ * and then tails the claims table by id, which also picks up claims
+ * submitted on other instances.
+ *
+ * The startup load reads everything up to max(id) as one snapshot; holes
+ * below that mark are rollbacks, not open transactions, so only ids above
+ * it are tracked for late commits. Search reports not-ready until the
+ * snapshot is in.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PolicyNumberIndex {
+
+    private static final int GRAM = 3;
+    private static final int LOAD_BATCH = 5000;
+
+    /* How long a hole in the ids is re-read before it counts as a rollback */
+    private static final long HOLE_HORIZON_MS = 600_000;
+
+    private final ClaimRepository claimRepo;
+
+    private final ReentrantReadWriteLock rw = new ReentrantReadWriteLock();
+    private final ReentrantLock tailLock = new ReentrantLock();
+
+    /* ordinal -> claim id / normalized policy number */
+    private long[] ids = new long[1024];
+    private String[] policies = new String[1024];
+    private int size;
+
+    /* claim ids already indexed; ids are dense, so a bitmap is tiny */
+    private final BitSet indexed = new BitSet();
+
+    /* packed trigram -> ordinals */
+    private final Map<Long, IntList> postings = new HashMap<>();
+
+    /* Search has no ordering to protect, so nothing waits on a hole */
+    private final IdTail position = new IdTail(0, HOLE_HORIZON_MS);
+
+    private volatile boolean ready;
+
+    /* ================= LOAD + TAIL ================= */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        try {
+            loadSnapshot();
+        } catch (DataAccessException e) {
+            log.warn("Policy number index load failed, retrying on next tail: {}", e.getMessage());
+        }
+    }
+
+    void loadSnapshot() {
+
+        tailLock.lock();
+        try {
+            long max = claimRepo.findMaxId().orElse(0L);
+
+            long after = 0;
+            while (after < max) {
+                List<ClaimPolicyNumber> rows =
+                        claimRepo.findByIdGreaterThanOrderByIdAsc(after, PageRequest.ofSize(LOAD_BATCH));
+                if (rows.isEmpty())
+                    break;
+
+                for (ClaimPolicyNumber row : rows)
+                    add(row.getId(), row.getPolicyNumber());
+                after = rows.get(rows.size() - 1).getId();
+            }
+
+            // Rows past max may have been added above; add() is idempotent, so the tail re-reading them is harmless
+            position.seed(max);
+            ready = true;
+        } finally {
+            tailLock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${claims.policy-index.tail-interval-ms:5000}")
+    public void tail() {
+        try {
+            if (!ready)
+                loadSnapshot();
+            else
+                catchUp(System.currentTimeMillis());
+        } catch (DataAccessException e) {
+            log.warn("Policy number index catch-up failed: {}", e.getMessage());
+        }
+    }
+
+    void catchUp(long now) {
+
+        tailLock.lock();
+        try {
+            List<ClaimPolicyNumber> rows;
+            do {
+                rows = claimRepo.findByIdGreaterThanOrderByIdAsc(position.scanned(), PageRequest.ofSize(LOAD_BATCH));
+
+                for (ClaimPolicyNumber row : rows) {
+                    add(row.getId(), row.getPolicyNumber());
+                    position.read(row.getId(), now);
+                }
+            } while (rows.size() == LOAD_BATCH);
+
+            // Holes left behind may still commit
+            List<Long> holes = position.openHoles(now);
+            if (!holes.isEmpty()) {
+                for (ClaimPolicyNumber row : claimRepo.findByIdIn(holes.subList(0, Math.min(holes.size(), LOAD_BATCH)))) {
+                    add(row.getId(), row.getPolicyNumber());
+                    position.filled(row.getId());
+                }
+            }
+        } finally {
+            tailLock.unlock();
+        }
+    }
+
+    /* ================= WRITE ================= */
+    // Idempotent, so a local submit and the tail may both report the same claim
+    public void add(long id, String policyNumber) {
+
+        if (policyNumber == null || id > Integer.MAX_VALUE)
+            return;
+
+        String normalized = normalize(policyNumber);
+
+        rw.writeLock().lock();
+        try {
+            if (indexed.get((int) id))
+                return;
+            indexed.set((int) id);
+
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                policies = Arrays.copyOf(policies, size * 2);
+            }
+            int ordinal = size++;
+            ids[ordinal] = id;
+            policies[ordinal] = normalized;
+
+            for (long gram : grams(normalized))
+                postings.computeIfAbsent(gram, g -> new IntList()).add(ordinal);
+        } finally {
+            rw.writeLock().unlock();
+        }
+    }
+
+    /* ================= SEARCH ================= */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /* Ids of claims whose policy number contains the fragment (case-insensitive), ascending */
+    public List<Long> search(String fragment) {
+
+        String q = normalize(fragment);
+        List<Long> result = new ArrayList<>();
+
+        rw.readLock().lock();
+        try {
+            if (q.length() < GRAM) {
+                // Too short for a gram; a scan of the in-memory column is still cheap
+                for (int i = 0; i < size; i++)
+                    if (policies[i].contains(q))
+                        result.add(ids[i]);
+            } else {
+                IntList shortest = null;
+                for (long gram : grams(q)) {
+                    IntList list = postings.get(gram);
+                    if (list == null)
+                        return List.of();
+                    if (shortest == null || list.size < shortest.size)
+                        shortest = list;
+                }
+                for (int i = 0; i < shortest.size; i++) {
+                    int ordinal = shortest.values[i];
+                    if (policies[ordinal].contains(q))
+                        result.add(ids[ordinal]);
+                }
+            }
+        } finally {
+            rw.readLock().unlock();
+        }
+
+        result.sort(null);
+        return result;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private static String normalize(String s) {
+        return s.toLowerCase(Locale.ROOT);
+    }
+
+    /* Distinct grams, so each ordinal lands in a posting list at most once */
+    private static long[] grams(String s) {
+        if (s.length() < GRAM)
+            return new long[0];
+
+        long[] grams = new long[s.length() - GRAM + 1];
+        int n = 0;
+        next:
+        for (int i = 0; i < grams.length; i++) {
+            long gram = ((long) s.charAt(i) << 32) | ((long) s.charAt(i + 1) << 16) | s.charAt(i + 2);
+            for (int j = 0; j < n; j++)
+                if (grams[j] == gram)
+                    continue next;
+            grams[n++] = gram;
+        }
+        return n == grams.length ? grams : Arrays.copyOf(grams, n);
+    }
+
+    private static final class IntList {
+        int[] values = new int[4];
+        int size;
+
+        void add(int v) {
+            if (size == values.length)
+                values = Arrays.copyOf(values, size * 2);
+            values[size++] = v;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.demo.workflow;
+
+import com.example.demo.entity.Claim;
+import com.example.demo.entity.ClaimStatus;
+import com.example.demo.exception.InvalidTransitionException;
+
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The claim lifecycle, declared once and compiled into bitsets.
+ *
+ * Each state's allowed targets become an int mask indexed by ordinal, so
+ * {@link #canTransition} is two array reads and a bit test with no
+ * allocation. The reverse masks answer "which states can move to X" for
+ * bulk queries.
+ *
+ * payment-, document- and assessment-service each keep a client copy,
+ * {@code client.ClaimWorkflowRules}, that fetches this table from
+ * GET /claims/workflow and falls back to a built-in copy of CLAIMS; a
+ * change here has to be mirrored in those three BUILT_IN maps.
+ */
+public final class ClaimStateMachine {
+
+    private static final ClaimStatus[] STATES = ClaimStatus.values();
+
+    // ✅ The one definition every service follows (published at GET /claims/workflow)
+    public static final ClaimStateMachine CLAIMS = builder(ClaimStatus.SUBMITTED)
+            .transition(ClaimStatus.SUBMITTED, ClaimStatus.UNDER_REVIEW)
+            .transition(ClaimStatus.UNDER_REVIEW, ClaimStatus.APPROVED, ClaimStatus.REJECTED)
+            .transition(ClaimStatus.APPROVED, ClaimStatus.SETTLED)
+            .build();
+
+    private final ClaimStatus initial;
+
+    /* ordinal -> mask of targets / of sources */
+    private final int[] next;
+    private final int[] previous;
+
+    private ClaimStateMachine(Builder b) {
+        this.initial = b.initial;
+        this.next = b.next.clone();
+        this.previous = new int[STATES.length];
+        for (int from = 0; from < STATES.length; from++)
+            for (int to = 0; to < STATES.length; to++)
+                if ((next[from] & (1 << to)) != 0)
+                    previous[to] |= 1 << from;
+    }
+
+    /* ================= CHECKS ================= */
+    public boolean canTransition(ClaimStatus from, ClaimStatus to) {
+        return from != null && to != null
+                && (next[from.ordinal()] & (1 << to.ordinal())) != 0;
+    }
+
+    // Null is not a state, so it is never terminal
+    public boolean isTerminal(ClaimStatus status) {
+        return status != null && next[status.ordinal()] == 0;
+    }
+
+    public ClaimStatus initial() {
+        return initial;
+    }
+
+    public EnumSet<ClaimStatus> targetsOf(ClaimStatus from) {
+        return from == null ? EnumSet.noneOf(ClaimStatus.class) : toSet(next[from.ordinal()]);
+    }
+
+    /* States whose claims may legally move to {@code to} */
+    public EnumSet<ClaimStatus> sourcesOf(ClaimStatus to) {
+        return to == null ? EnumSet.noneOf(ClaimStatus.class) : toSet(previous[to.ordinal()]);
+    }
+
+    /* ================= TRANSITION ================= */
+    // Checks the table, then moves the claim
+    public ClaimStatus transition(Claim claim, ClaimStatus to) {
+
+        ClaimStatus from = claim.getStatus();
+
+        check(claim, to);
+        claim.setStatus(to);
+
+        return from;
+    }
+
+    // Table only; the claim is left untouched
+    public void check(Claim claim, ClaimStatus to) {
+
+        ClaimStatus from = claim.getStatus();
+
+        if (!canTransition(from, to))
+            throw new InvalidTransitionException("Invalid transition: " + from + " → " + to);
+    }
+
+    /* ================= DEFINITION ================= */
+    public Map<ClaimStatus, EnumSet<ClaimStatus>> definition() {
+        Map<ClaimStatus, EnumSet<ClaimStatus>> def = new LinkedHashMap<>();
+        for (ClaimStatus s : STATES)
+            def.put(s, targetsOf(s));
+        return def;
+    }
+
+    private static EnumSet<ClaimStatus> toSet(int mask) {
+        EnumSet<ClaimStatus> set = EnumSet.noneOf(ClaimStatus.class);
+        for (ClaimStatus s : STATES)
+            if ((mask & (1 << s.ordinal())) != 0)
+                set.add(s);
+        return set;
+    }
+
+    /* ================= BUILDER ================= */
+    public static Builder builder(ClaimStatus initial) {
+        return new Builder(initial);
+    }
+
+    public static final class Builder {
+
+        private final ClaimStatus initial;
+        private final int[] next = new int[STATES.length];
+
+        private Builder(ClaimStatus initial) {
+            this.initial = initial;
+        }
+
+        public Builder transition(ClaimStatus from, ClaimStatus... targets) {
+            for (ClaimStatus to : targets)
+                next[from.ordinal()] |= 1 << to.ordinal();
+            return this;
+        }
+
+        public ClaimStateMachine build() {
+            return new ClaimStateMachine(this);
+        }
+    }
+}
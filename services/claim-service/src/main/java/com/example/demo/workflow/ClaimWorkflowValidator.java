@@ -4,31 +4,11 @@ import com.example.demo.entity.ClaimStatus;
 
 public class ClaimWorkflowValidator {
 
+    // ✅ Bit test against the precomputed table, no branching per state
     public static boolean isValidTransition(
             ClaimStatus current,
             ClaimStatus next) {
 
-        if (current == null || next == null)
-            return false;
-
-        switch (current) {
-
-            case SUBMITTED:
-                return next == ClaimStatus.UNDER_REVIEW;
-
-            case UNDER_REVIEW:
-                return next == ClaimStatus.APPROVED
-                        || next == ClaimStatus.REJECTED;
-
-            case APPROVED:
-                return next == ClaimStatus.SETTLED;
-
-            case REJECTED:
-            case SETTLED:
-                return false;   // Final states
-
-            default:
-                return false;
-        }
+        return ClaimStateMachine.CLAIMS.canTransition(current, next);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,61 @@
+package com.example.demo.Controller;
+
+import com.example.demo.controller.ClaimController;
+import com.example.demo.dto.ClaimHistoryItem;
+import com.example.demo.entity.ClaimStatus;
+import com.example.demo.service.ClaimWorkflowservice;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class ClaimHistoryEtagTest {
+
+    private final ClaimWorkflowservice service = mock(ClaimWorkflowservice.class);
+
+    private final MockMvc mockMvc = MockMvcBuilders
+            .standaloneSetup(new ClaimController(service, new ObjectMapper()))
+            .build();
+
+    @Test
+    void history_carriesEtagOfLatestTransition() throws Exception {
+
+        when(service.getLatestHistoryId(1L)).thenReturn(12L);
+        when(service.getHistory(1L)).thenReturn(List.of(
+                new ClaimHistoryItem(12L, 1L, ClaimStatus.SUBMITTED, ClaimStatus.UNDER_REVIEW, null)));
+
+        mockMvc.perform(get("/claims/1/history"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1-12\""))
+                .andExpect(jsonPath("$[0].newStatus").value("UNDER_REVIEW"));
+    }
+
+    @Test
+    void unchangedHistory_is304_withoutLoadingRows() throws Exception {
+
+        when(service.getLatestHistoryId(1L)).thenReturn(12L);
+
+        mockMvc.perform(get("/claims/1/history").header("If-None-Match", "\"1-12\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(service, never()).getHistory(any());
+    }
+
+    @Test
+    void newTransition_changesEtag() throws Exception {
+
+        when(service.getLatestHistoryId(1L)).thenReturn(13L);
+        when(service.getHistory(1L)).thenReturn(List.of());
+
+        mockMvc.perform(get("/claims/1/history").header("If-None-Match", "\"1-12\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1-13\""));
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.demo.Controller;
+
+import com.example.demo.controller.ClaimController;
+import com.example.demo.entity.ClaimStatus;
+import com.example.demo.service.ClaimWorkflowservice;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class ClaimStatusLookupTest {
+
+    private final ClaimWorkflowservice service = mock(ClaimWorkflowservice.class);
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final MockMvc mockMvc = MockMvcBuilders
+            .standaloneSetup(new ClaimController(service, objectMapper))
+            .build();
+
+    @Test
+    void lookup_upToTheCap_returnsStatuses() throws Exception {
+
+        List<Long> ids = ids(ClaimWorkflowservice.MAX_LOOKUP_IDS);
+        when(service.getStatuses(ids)).thenReturn(Map.of(1L, ClaimStatus.APPROVED));
+
+        mockMvc.perform(post("/claims/status/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(ids)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$['1']").value("APPROVED"));
+    }
+
+    @Test
+    void lookup_overTheCap_is400_withoutTouchingTheService() throws Exception {
+
+        mockMvc.perform(post("/claims/status/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(ids(ClaimWorkflowservice.MAX_LOOKUP_IDS + 1))))
+                .andExpect(status().isBadRequest());
+
+        verify(service, never()).getStatuses(any());
+    }
+
+    private static List<Long> ids(int n) {
+        return LongStream.rangeClosed(1, n).boxed().toList();
+    }
+}
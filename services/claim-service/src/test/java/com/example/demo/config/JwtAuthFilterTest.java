@@ -0,0 +1,75 @@
+package com.example.demo.config;
+
+import com.example.demo.client.AuthClient;
+import com.example.demo.dto.AuthValidationResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class JwtAuthFilterTest {
+
+    private final AuthClient authClient = mock(AuthClient.class);
+    private final LocalJwtVerifier localVerifier = mock(LocalJwtVerifier.class);
+    private final RevocationSync revocationSync = mock(RevocationSync.class);
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void authServiceDown_withStaleReplica_rejects() throws Exception {
+
+        when(revocationSync.isStale()).thenReturn(true);
+        when(revocationSync.lagMs()).thenReturn(10 * 60_000L);
+        when(authClient.validate(anyString())).thenThrow(new IllegalStateException("connection refused"));
+
+        filter().doFilter(request(), new MockHttpServletResponse(), new MockFilterChain());
+
+        // The replica may be missing the logout that made this token invalid
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verifyNoInteractions(localVerifier);
+    }
+
+    @Test
+    void authServiceDown_withRecentReplica_verifiesLocally() throws Exception {
+
+        when(revocationSync.isStale()).thenReturn(true);
+        when(revocationSync.lagMs()).thenReturn(45_000L);
+        when(authClient.validate(anyString())).thenThrow(new IllegalStateException("connection refused"));
+        AuthValidationResponse valid = new AuthValidationResponse();
+        valid.setValid(true);
+        valid.setUsername("john");
+        valid.setRoles(List.of("USER"));
+        when(localVerifier.verify("t")).thenReturn(valid);
+
+        filter().doFilter(request(), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertEquals("john", SecurityContextHolder.getContext().getAuthentication().getName());
+    }
+
+    private JwtAuthFilter filter() {
+        JwtAuthFilter filter = new JwtAuthFilter(authClient, localVerifier, revocationSync,
+                new RemoteValidationCache(5_000, 100));
+        ReflectionTestUtils.setField(filter, "mode", "local");
+        ReflectionTestUtils.setField(filter, "remoteFallback", true);
+        ReflectionTestUtils.setField(filter, "outageMaxLagMs", 120_000L);
+        return filter;
+    }
+
+    private static MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/claims/1");
+        request.addHeader("Authorization", "Bearer t");
+        return request;
+    }
+}
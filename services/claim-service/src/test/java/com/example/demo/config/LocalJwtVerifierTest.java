@@ -0,0 +1,129 @@
+package com.example.demo.config;
+
+import com.example.demo.client.AuthClient;
+import com.example.demo.dto.AuthValidationResponse;
+import com.example.demo.dto.JwkSetResponse;
+import com.example.demo.dto.RevocationFeedResponse;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import java.security.KeyPair;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class LocalJwtVerifierTest {
+
+    private static final KeyPair KEYS = Keys.keyPairFor(SignatureAlgorithm.RS256);
+
+    private JwksKeyResolver resolver() {
+        JwksKeyResolver resolver = new JwksKeyResolver(mock(AuthClient.class));
+        resolver.setKeys(Map.of("k1", KEYS.getPublic()));
+        return resolver;
+    }
+
+    private String token(String username, long ttlMs) {
+        return token("k1", KEYS, username, ttlMs);
+    }
+
+    private String token(String kid, KeyPair keys, String username, long ttlMs) {
+        return Jwts.builder()
+                .setHeaderParam("kid", kid)
+                .setSubject(username)
+                .claim("roles", List.of("USER"))
+                .setExpiration(new Date(System.currentTimeMillis() + ttlMs))
+                .signWith(keys.getPrivate(), SignatureAlgorithm.RS256)
+                .compact();
+    }
+
+    @Test
+    void validToken_isAcceptedWithoutCallingAuthService() {
+
+        AuthClient authClient = mock(AuthClient.class);
+        LocalJwtVerifier verifier =
+                new LocalJwtVerifier(resolver(), new RevocationSync(authClient));
+
+        AuthValidationResponse result = verifier.verify(token("john", 60_000));
+
+        assertTrue(result.isValid());
+        assertEquals("john", result.getUsername());
+        assertEquals(List.of("USER"), result.getRoles());
+        verifyNoInteractions(authClient);
+    }
+
+    @Test
+    void expiredOrTamperedToken_isRejected() {
+
+        LocalJwtVerifier verifier =
+                new LocalJwtVerifier(resolver(), new RevocationSync(mock(AuthClient.class)));
+
+        assertFalse(verifier.verify(token("john", -1000)).isValid());
+        assertFalse(verifier.verify(token("john", 60_000) + "x").isValid());
+    }
+
+    @Test
+    void unknownKidOrForeignKey_isRejected() {
+
+        LocalJwtVerifier verifier =
+                new LocalJwtVerifier(resolver(), new RevocationSync(mock(AuthClient.class)));
+
+        KeyPair other = Keys.keyPairFor(SignatureAlgorithm.RS256);
+
+        assertFalse(verifier.verify(token("k2", KEYS, "john", 60_000)).isValid());
+        assertFalse(verifier.verify(token("k1", other, "john", 60_000)).isValid());
+    }
+
+    @Test
+    void refresh_loadsKeysFromPublishedSet() throws Exception {
+
+        RSAPublicKey pub = (RSAPublicKey) KEYS.getPublic();
+        Base64.Encoder b64 = Base64.getUrlEncoder().withoutPadding();
+
+        JwkSetResponse set = new JwkSetResponse();
+        set.setKeys(List.of(new JwkSetResponse.Key("RSA", "k1",
+                b64.encodeToString(pub.getModulus().toByteArray()),
+                b64.encodeToString(pub.getPublicExponent().toByteArray()))));
+
+        AuthClient authClient = mock(AuthClient.class);
+        when(authClient.jwks()).thenReturn(set);
+
+        JwksKeyResolver resolver = new JwksKeyResolver(authClient);
+        resolver.tick();
+
+        assertTrue(new LocalJwtVerifier(resolver, new RevocationSync(authClient))
+                .verify(token("john", 60_000)).isValid());
+    }
+
+    @Test
+    void revokedToken_isRejectedAfterSync() {
+
+        String token = token("john", 60_000);
+
+        RevocationFeedResponse page = new RevocationFeedResponse();
+        page.setEpoch("e1");
+        page.setSequence(1);
+        page.setRevocations(List.of(new RevocationFeedResponse.Entry(
+                RevocationSync.digest(token), System.currentTimeMillis() + 60_000)));
+
+        RevocationFeedResponse empty = new RevocationFeedResponse();
+        empty.setEpoch("e1");
+        empty.setSequence(1);
+        empty.setRevocations(List.of());
+
+        AuthClient authClient = mock(AuthClient.class);
+        when(authClient.revocations(anyLong())).thenReturn(page, empty);
+
+        RevocationSync sync = new RevocationSync(authClient);
+        sync.sync();
+
+        assertFalse(new LocalJwtVerifier(resolver(), sync).verify(token).isValid());
+    }
+}
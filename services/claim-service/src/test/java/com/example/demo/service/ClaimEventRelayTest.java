@@ -0,0 +1,188 @@
+package com.example.demo.service;
+
+import com.example.demo.config.ClaimEventProperties;
+import com.example.demo.dto.ClaimEventMessage;
+import com.example.demo.entity.ClaimEvent;
+import com.example.demo.entity.ClaimEventCursor;
+import com.example.demo.entity.ClaimStatus;
+import com.example.demo.repository.ClaimEventCursorRepository;
+import com.example.demo.repository.ClaimEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ClaimEventRelayTest {
+
+    private static final String URL = "http://payment/internal/claim-events";
+
+    private final ClaimEventRepository events = mock(ClaimEventRepository.class);
+    private final ClaimEventCursorRepository cursors = mock(ClaimEventCursorRepository.class);
+    private final RestTemplate http = mock(RestTemplate.class);
+    private final PlatformTransactionManager txManager = mock(PlatformTransactionManager.class);
+
+    private final TreeMap<Long, ClaimEvent> table = new TreeMap<>();
+    private final ClaimEventCursor cursor = new ClaimEventCursor("payment");
+    private final List<List<ClaimEventMessage>> posted = new ArrayList<>();
+
+    private ClaimEventRelay relay;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+
+        ClaimEventProperties props = new ClaimEventProperties();
+        props.setSubscribers(Map.of("payment", URL));
+        props.setBatchSize(2);
+
+        relay = new ClaimEventRelay(events, cursors, props,
+                new TransactionTemplate(txManager), http);
+
+        when(cursors.lockBySubscriber("payment")).thenReturn(Optional.of(cursor));
+        when(cursors.findById("payment")).thenReturn(Optional.of(cursor));
+        when(events.findByIdGreaterThanOrderByIdAsc(anyLong(), any(Pageable.class))).thenAnswer(inv ->
+                table.tailMap(inv.<Long>getArgument(0), false).values().stream()
+                        .limit(inv.<Pageable>getArgument(1).getPageSize())
+                        .toList());
+        when(events.findAllById(anyIterable())).thenAnswer(inv -> {
+            List<ClaimEvent> found = new ArrayList<>();
+            inv.<Iterable<Long>>getArgument(0).forEach(id -> {
+                if (table.containsKey(id))
+                    found.add(table.get(id));
+            });
+            return found;
+        });
+        when(http.postForEntity(eq(URL), any(), eq(Void.class))).thenAnswer(inv -> {
+            posted.add(inv.getArgument(1));
+            return null;
+        });
+    }
+
+    private void event(long id, long claimId, ClaimStatus to) {
+        ClaimEvent e = new ClaimEvent();
+        e.setId(id);
+        e.setClaimId(claimId);
+        e.setNewStatus(to);
+        e.setOccurredAt(LocalDateTime.now());
+        table.put(id, e);
+    }
+
+    @Test
+    void deliversInOrder_inBatches_andAdvancesCursor() {
+
+        event(1, 7, ClaimStatus.SUBMITTED);
+        event(2, 7, ClaimStatus.UNDER_REVIEW);
+        event(3, 7, ClaimStatus.APPROVED);
+
+        assertEquals(3, relay.relay(LocalDateTime.now(), 0));
+
+        assertEquals(2, posted.size());
+        assertEquals(List.of(1L, 2L), posted.get(0).stream().map(ClaimEventMessage::getEventId).toList());
+        assertEquals(List.of(3L), posted.get(1).stream().map(ClaimEventMessage::getEventId).toList());
+        assertEquals(3, cursor.getLastEventId());
+
+        // Caught up: nothing is sent twice
+        assertEquals(0, relay.relay(LocalDateTime.now(), 0));
+        assertEquals(2, posted.size());
+    }
+
+    @Test
+    void postsOutsideAnyTransaction_andReleasesTheLease() {
+
+        event(1, 7, ClaimStatus.SUBMITTED);
+
+        assertEquals(1, relay.relay(LocalDateTime.now(), 0));
+
+        // Lease committed before the POST, cursor moved in a second transaction after it
+        InOrder order = inOrder(txManager, http, cursors);
+        order.verify(cursors).lockBySubscriber("payment");
+        order.verify(txManager).commit(any());
+        order.verify(http).postForEntity(eq(URL), any(), eq(Void.class));
+        order.verify(cursors).findById("payment");
+        order.verify(txManager).commit(any());
+
+        assertNull(cursor.getLeaseUntil());
+        assertEquals(1, cursor.getLastEventId());
+    }
+
+    @Test
+    void leasedCursor_isLeftToItsHolder() {
+
+        event(1, 7, ClaimStatus.SUBMITTED);
+        LocalDateTime now = LocalDateTime.now();
+        cursor.setLeaseUntil(now.plusSeconds(10));
+
+        assertEquals(0, relay.relay(now, 0));
+        verifyNoInteractions(http);
+    }
+
+    @Test
+    void eventCommittingLateBehindAHole_isStillDelivered() {
+
+        event(1, 7, ClaimStatus.SUBMITTED);
+        event(3, 8, ClaimStatus.SUBMITTED); // 2 may still be in flight
+
+        assertEquals(2, relay.relay(LocalDateTime.now(), 0));
+        assertEquals(3, cursor.getLastEventId());
+        assertNotNull(cursor.getOpenHoles());
+
+        // Commits well after any gap timeout, and after newer events went out
+        event(2, 9, ClaimStatus.SUBMITTED);
+        assertEquals(1, relay.relay(LocalDateTime.now(), 60_000));
+
+        assertEquals(List.of(2L), posted.get(1).stream().map(ClaimEventMessage::getEventId).toList());
+        assertNull(cursor.getOpenHoles());
+
+        // Delivered once only
+        assertEquals(0, relay.relay(LocalDateTime.now(), 61_000));
+        assertEquals(2, posted.size());
+    }
+
+    @Test
+    void holeThatNeverFills_isGivenUpAfterTheHorizon() {
+
+        event(1, 7, ClaimStatus.SUBMITTED);
+        event(3, 8, ClaimStatus.SUBMITTED);
+
+        relay.relay(LocalDateTime.now(), 0);
+        relay.relay(LocalDateTime.now(), 600_000);
+
+        assertNull(cursor.getOpenHoles());
+    }
+
+    @Test
+    void failedDelivery_keepsCursor_andBacksOff() {
+
+        event(1, 7, ClaimStatus.SUBMITTED);
+        when(http.postForEntity(eq(URL), any(), eq(Void.class)))
+                .thenThrow(new ResourceAccessException("connection refused"));
+
+        LocalDateTime now = LocalDateTime.now();
+        assertEquals(0, relay.relay(now, 0));
+
+        assertEquals(0, cursor.getLastEventId());
+        assertNull(cursor.getLeaseUntil());
+        assertEquals(1, cursor.getFailures());
+        assertTrue(cursor.getNextAttemptAt().isAfter(now));
+        assertEquals(1, relay.failedCount());
+
+        // Still backing off: the subscriber is not called again yet
+        relay.relay(now.plusSeconds(1), 1_000);
+        verify(http, times(1)).postForEntity(eq(URL), any(), eq(Void.class));
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.demo.service;
+
+import com.example.demo.entity.ClaimStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClaimStatusCacheTest {
+
+    @Test
+    void hitsAndMisses_areCounted() {
+
+        ClaimStatusCache cache = new ClaimStatusCache(100, 60_000);
+
+        assertNull(cache.get(1L));
+        cache.put(1L, ClaimStatus.SUBMITTED, cache.stamp(1L));
+        assertEquals(ClaimStatus.SUBMITTED, cache.get(1L));
+        assertEquals(ClaimStatus.SUBMITTED, cache.get(1L));
+
+        assertEquals(2, cache.hitCount());
+        assertEquals(1, cache.missCount());
+        assertEquals(2.0 / 3, cache.hitRatio(), 1e-9);
+    }
+
+    @Test
+    void readStartedBeforeAnInvalidation_isNotStored() {
+
+        ClaimStatusCache cache = new ClaimStatusCache(100, 60_000);
+
+        long stamp = cache.stamp(1L);        // reader starts its DB read
+        cache.invalidate(1L);                // a transition commits meanwhile
+        cache.put(1L, ClaimStatus.SUBMITTED, stamp);
+
+        assertNull(cache.get(1L));
+
+        cache.put(2L, ClaimStatus.APPROVED, cache.stamp(2L));
+        cache.invalidateAll(List.of(2L));
+        assertNull(cache.get(2L));
+    }
+
+    @Test
+    void invalidatingOneClaim_doesNotDropReadsOfOthers() {
+
+        ClaimStatusCache cache = new ClaimStatusCache(100, 60_000);
+
+        long stamp = cache.stamp(2L);
+        cache.invalidate(1L);
+        cache.put(2L, ClaimStatus.APPROVED, stamp);
+
+        assertEquals(ClaimStatus.APPROVED, cache.get(2L));
+    }
+
+    @Test
+    void expiredEntries_areMisses() {
+
+        ClaimStatusCache cache = new ClaimStatusCache(100, 0);
+
+        cache.put(1L, ClaimStatus.SUBMITTED, cache.stamp(1L));
+
+        assertNull(cache.get(1L));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void cache_isBoundedBySize() {
+
+        ClaimStatusCache cache = new ClaimStatusCache(2, 60_000);
+
+        for (long id = 0; id < 10; id++)
+            cache.put(id, ClaimStatus.SUBMITTED, cache.stamp(id));
+
+        assertTrue(cache.size() <= 2);
+        assertNotNull(cache.get(9L));
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.ClaimSummary;
+import com.example.demo.entity.Claim;
+import com.example.demo.entity.ClaimEvent;
+import com.example.demo.entity.ClaimStatus;
+import com.example.demo.repository.ClaimEventRepository;
+import com.example.demo.repository.ClaimRepository;
+import com.example.demo.repository.ClaimStatsRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ClaimStatusCountersTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 1, 1, 9, 0);
+
+    private final ClaimStatsRepository stats = mock(ClaimStatsRepository.class);
+    private final ClaimEventRepository events = mock(ClaimEventRepository.class);
+    private final ClaimRepository claimRepo = mock(ClaimRepository.class);
+
+    private final TreeMap<Long, ClaimEvent> table = new TreeMap<>();
+
+    private final ClaimStatusCounters counters = new ClaimStatusCounters(stats, events, claimRepo,
+            new TransactionTemplate(mock(PlatformTransactionManager.class)));
+
+    @BeforeEach
+    void setUp() {
+
+        // 10 claims: 4 submitted, 3 approved, 1 rejected, 2 settled in 48h total
+        when(stats.maxEventId()).thenReturn(0L);
+        when(stats.countByStatus()).thenReturn(Map.of(
+                ClaimStatus.SUBMITTED, 4L, ClaimStatus.APPROVED, 3L,
+                ClaimStatus.REJECTED, 1L, ClaimStatus.SETTLED, 2L));
+        when(stats.settlementTotals()).thenReturn(new long[] { 2, 48 * 3600 });
+
+        when(events.findByIdGreaterThanOrderByIdAsc(anyLong(), any(Pageable.class))).thenAnswer(inv ->
+                List.copyOf(table.tailMap(inv.<Long>getArgument(0), false).values()));
+        when(events.findAllById(anyIterable())).thenAnswer(inv -> {
+            List<ClaimEvent> found = new ArrayList<>();
+            inv.<Iterable<Long>>getArgument(0).forEach(id -> {
+                if (table.containsKey(id))
+                    found.add(table.get(id));
+            });
+            return found;
+        });
+
+        counters.rebuild();
+    }
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive())
+            TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    private ClaimEvent event(long id, long claimId, ClaimStatus from, ClaimStatus to, LocalDateTime at) {
+        ClaimEvent e = new ClaimEvent();
+        e.setId(id);
+        e.setClaimId(claimId);
+        e.setOldStatus(from);
+        e.setNewStatus(to);
+        e.setOccurredAt(at);
+        return e;
+    }
+
+    @Test
+    void rebuild_seedsSummaryFromAggregates() {
+
+        ClaimSummary summary = counters.summary();
+
+        assertTrue(counters.isReady());
+        assertEquals(10, summary.getTotal());
+        assertEquals(5, summary.getApproved());
+        assertEquals(1, summary.getRejected());
+        assertEquals(24.0, summary.getAvgSettlementTime(), 1e-9);
+    }
+
+    @Test
+    void tail_appliesTransitionsFromOtherInstances() {
+
+        Claim claim = new Claim();
+        claim.setId(42L);
+        claim.setCreatedAt(T0);
+        when(claimRepo.findAllById(List.of(42L))).thenReturn(List.of(claim));
+
+        table.put(1L, event(1, 50, null, ClaimStatus.SUBMITTED, T0));
+        table.put(2L, event(2, 42, ClaimStatus.APPROVED, ClaimStatus.SETTLED, T0.plusHours(72)));
+
+        counters.catchUp(0);
+        ClaimSummary summary = counters.summary();
+
+        assertEquals(11, summary.getTotal());
+        assertEquals(5, summary.getApproved());
+        assertEquals(3L, summary.getByStatus().get(ClaimStatus.SETTLED));
+        assertEquals((48 + 72) / 3.0, summary.getAvgSettlementTime(), 1e-9);
+    }
+
+    @Test
+    void record_countsOnCommitOnly_andTailSkipsIt() {
+
+        TransactionSynchronizationManager.initSynchronization();
+
+        ClaimEvent committed = event(1, 7, ClaimStatus.SUBMITTED, ClaimStatus.UNDER_REVIEW, T0);
+        ClaimEvent rolledBack = event(2, 8, ClaimStatus.SUBMITTED, ClaimStatus.UNDER_REVIEW, T0);
+        counters.record(committed, T0);
+        counters.record(rolledBack, T0);
+
+        List<TransactionSynchronization> syncs = TransactionSynchronizationManager.getSynchronizations();
+        syncs.get(0).afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        syncs.get(1).afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertEquals(3L, counters.summary().getByStatus().get(ClaimStatus.SUBMITTED));
+        assertEquals(1L, counters.summary().getByStatus().get(ClaimStatus.UNDER_REVIEW));
+
+        // The committed event reaches the tail too, but is not counted twice
+        table.put(1L, committed);
+        counters.catchUp(0);
+
+        assertEquals(1L, counters.summary().getByStatus().get(ClaimStatus.UNDER_REVIEW));
+        assertEquals(10, counters.summary().getTotal());
+    }
+
+    @Test
+    void tail_countsEventThatCommitsBehindALaterOne() {
+
+        table.put(2L, event(2, 60, null, ClaimStatus.SUBMITTED, T0));
+        counters.catchUp(0);
+
+        // Event 1 was still open when 2 was read; it commits later than any gap timeout
+        table.put(1L, event(1, 61, null, ClaimStatus.SUBMITTED, T0));
+        counters.catchUp(60_000);
+
+        assertEquals(12, counters.summary().getTotal());
+        assertEquals(6L, counters.summary().getByStatus().get(ClaimStatus.SUBMITTED));
+    }
+
+    @Test
+    void reconcile_replacesDriftedCounts() {
+
+        table.put(1L, event(1, 50, null, ClaimStatus.SUBMITTED, T0));
+        counters.catchUp(0);
+        assertEquals(11, counters.summary().getTotal());
+
+        when(stats.maxEventId()).thenReturn(1L);
+        when(stats.countByStatus()).thenReturn(Map.of(ClaimStatus.SUBMITTED, 12L));
+        counters.reconcile();
+
+        assertEquals(12, counters.summary().getTotal());
+    }
+}
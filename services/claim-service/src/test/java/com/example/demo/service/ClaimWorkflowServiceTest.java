@@ -0,0 +1,335 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.BulkTransitionResponse;
+import com.example.demo.dto.BulkTransitionResult;
+import com.example.demo.dto.ClaimIdStatus;
+import com.example.demo.dto.ClaimListItem;
+import com.example.demo.dto.ClaimPage;
+import com.example.demo.entity.Claim;
+import com.example.demo.entity.ClaimEvent;
+import com.example.demo.entity.ClaimStatus;
+import com.example.demo.entity.ClaimStatusHistory;
+import com.example.demo.exception.InvalidTransitionException;
+import com.example.demo.repository.ClaimBatchRepository;
+import com.example.demo.repository.ClaimEventRepository;
+import com.example.demo.repository.ClaimRepository;
+import com.example.demo.repository.ClaimStatusHistoryRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ClaimWorkflowServiceTest {
+
+    private final ClaimRepository claimRepo = mock(ClaimRepository.class);
+    private final ClaimStatusHistoryRepository historyRepo = mock(ClaimStatusHistoryRepository.class);
+
+    private final ClaimBatchRepository batchRepo = mock(ClaimBatchRepository.class);
+    private final ClaimEventRepository eventRepo = mock(ClaimEventRepository.class);
+    private final ClaimStatusCache statusCache = new ClaimStatusCache(1000, 60_000);
+    private final ClaimStatusCounters counters = mock(ClaimStatusCounters.class);
+
+    private final ClaimWorkflowservice service =
+            new ClaimWorkflowservice(claimRepo, historyRepo, mock(PolicyNumberIndex.class), batchRepo, eventRepo,
+                    counters, statusCache,
+                    new TransactionTemplate(mock(PlatformTransactionManager.class)));
+
+    /* Answers findPageByStatus like the index would, over ids 1..total */
+    private void claims(long total) {
+        when(claimRepo.findPageByStatus(eq(ClaimStatus.SUBMITTED), anyLong(), any(Pageable.class)))
+                .thenAnswer(inv -> {
+                    long after = inv.getArgument(1);
+                    int limit = inv.<Pageable>getArgument(2).getPageSize();
+                    return LongStream.rangeClosed(after + 1, Math.min(total, after + limit))
+                            .mapToObj(id -> new ClaimListItem(id, "P" + id, 10.0,
+                                    ClaimStatus.SUBMITTED, null))
+                            .toList();
+                });
+    }
+
+    @Test
+    void page_returnsCursorUntilLastPage() {
+
+        claims(250);
+
+        ClaimPage first = service.getClaimPageByStatus(ClaimStatus.SUBMITTED, null, 100);
+        assertEquals(100, first.getItems().size());
+        assertEquals(100L, first.getNextCursor());
+
+        ClaimPage last = service.getClaimPageByStatus(ClaimStatus.SUBMITTED, 200L, 100);
+        assertEquals(50, last.getItems().size());
+        assertEquals(201L, last.getItems().get(0).getId());
+        assertNull(last.getNextCursor());
+    }
+
+    @Test
+    void page_sizeIsCapped() {
+
+        claims(10_000);
+
+        ClaimPage page = service.getClaimPageByStatus(ClaimStatus.SUBMITTED, null, 1_000_000);
+
+        assertEquals(ClaimWorkflowservice.MAX_PAGE_SIZE, page.getItems().size());
+    }
+
+    @Test
+    void stream_visitsEveryClaimOnceInChunks() {
+
+        claims(2_500);
+
+        List<Long> seen = new ArrayList<>();
+        service.forEachClaimByStatus(ClaimStatus.SUBMITTED, item -> seen.add(item.getId()));
+
+        assertEquals(2_500, seen.size());
+        assertEquals(LongStream.rangeClosed(1, 2_500).boxed().toList(), seen);
+        verify(claimRepo, times(3)).findPageByStatus(eq(ClaimStatus.SUBMITTED), anyLong(), any());
+        verify(claimRepo, never()).findByStatus(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void bulk_chunksUpdatesBySourceStatus_andReportsEveryClaim() {
+
+        // 1..1200 exist: odd ids APPROVED, even ids SUBMITTED; 1201 does not
+        lockedClaims(1200);
+
+        List<Long> ids = new ArrayList<>(LongStream.rangeClosed(1, 1201).boxed().toList());
+        ids.add(1L); // duplicates count once
+
+        BulkTransitionResponse response = service.bulkUpdateStatus(ids, ClaimStatus.SETTLED);
+
+        assertEquals(600, response.getApplied());
+        assertEquals(601, response.getFailed());
+        assertEquals(1201, response.getResults().size());
+
+        BulkTransitionResult first = response.getResults().get(0);
+        assertTrue(first.isSuccess());
+        assertEquals(ClaimStatus.APPROVED, first.getOldStatus());
+        assertFalse(response.getResults().get(1).isSuccess());
+        assertEquals("Claim not found", response.getResults().get(1200).getError());
+
+        // 3 chunks of ≤ 500: one locking read, one UPDATE for the APPROVED group, one history batch each
+        verify(batchRepo, times(3)).lockClaims(anyCollection());
+        verify(batchRepo, times(3)).updateStatus(anyCollection(), eq(ClaimStatus.APPROVED),
+                eq(ClaimStatus.SETTLED), any());
+        verify(batchRepo, never()).updateStatus(anyCollection(), eq(ClaimStatus.SUBMITTED), any(), any());
+
+        ArgumentCaptor<List<ClaimStatusHistory>> history = ArgumentCaptor.forClass(List.class);
+        verify(batchRepo, times(3)).insertHistory(history.capture());
+        assertEquals(600, history.getAllValues().stream().mapToInt(List::size).sum());
+
+        ArgumentCaptor<List<ClaimEvent>> events = ArgumentCaptor.forClass(List.class);
+        verify(batchRepo, times(3)).insertEvents(events.capture());
+        assertEquals(600, events.getAllValues().stream().mapToInt(List::size).sum());
+        verify(historyRepo, never()).save(any());
+
+        // Counted like single transitions
+        verify(counters, times(600)).record(any(), any());
+    }
+
+    @Test
+    void bulk_failedChunk_isReportedPerClaim_andOthersStillApply() {
+
+        lockedClaims(1200);
+        when(batchRepo.updateStatus(argThat(ids -> ids.contains(501L)), any(), any(), any()))
+                .thenThrow(new QueryTimeoutException("lock wait timeout"));
+
+        List<Long> ids = LongStream.rangeClosed(1, 1200).boxed().toList();
+        BulkTransitionResponse response = service.bulkUpdateStatus(ids, ClaimStatus.SETTLED);
+
+        // Chunks 1 and 3 committed; every claim of chunk 2 failed with the cause
+        assertEquals(250 + 100, response.getApplied());
+        assertEquals(1200, response.getResults().size());
+
+        BulkTransitionResult failed = response.getResults().get(500);
+        assertFalse(failed.isSuccess());
+        assertTrue(failed.getError().contains("lock wait timeout"));
+
+        // Claims the chunk had already rejected keep their own reason
+        assertTrue(response.getResults().get(501).getError().startsWith("Invalid transition"));
+        assertTrue(response.getResults().get(1000).isSuccess());
+    }
+
+    /* Backs lockClaims over ids 1..total: odd ids APPROVED, even ids SUBMITTED */
+    private void lockedClaims(long total) {
+        when(batchRepo.lockClaims(anyCollection())).thenAnswer(inv -> {
+            Map<Long, Claim> found = new HashMap<>();
+            for (Long id : inv.<Collection<Long>>getArgument(0))
+                if (id <= total) {
+                    Claim claim = new Claim();
+                    claim.setId(id);
+                    claim.setStatus(id % 2 == 1 ? ClaimStatus.APPROVED : ClaimStatus.SUBMITTED);
+                    found.put(id, claim);
+                }
+            return found;
+        });
+    }
+
+    @Test
+    void statuses_comeFromCacheFirst_missesInOneQuery() {
+
+        statusCache.put(1L, ClaimStatus.APPROVED, statusCache.stamp(1L));
+
+        when(claimRepo.findIdAndStatusByIdIn(List.of(2L, 3L))).thenReturn(List.of(idStatus(2L, ClaimStatus.SUBMITTED)));
+
+        Map<Long, ClaimStatus> statuses = service.getStatuses(List.of(1L, 2L, 3L, 1L));
+
+        assertEquals(Map.of(1L, ClaimStatus.APPROVED, 2L, ClaimStatus.SUBMITTED), statuses);
+        verify(claimRepo, times(1)).findIdAndStatusByIdIn(any());
+
+        // 2 is cached now, 3 is still unknown
+        service.getStatuses(List.of(2L));
+        verify(claimRepo, times(1)).findIdAndStatusByIdIn(any());
+        assertEquals(ClaimStatus.SUBMITTED, service.getStatus(2L));
+        verify(claimRepo, never()).findStatusById(any());
+    }
+
+    @Test
+    void updateStatus_dropsCachedStatus() {
+
+        statusCache.put(1L, ClaimStatus.SUBMITTED, statusCache.stamp(1L));
+        table(1, ClaimStatus.SUBMITTED);
+
+        service.updateStatus(1L, ClaimStatus.UNDER_REVIEW);
+
+        assertNull(statusCache.get(1L));
+        when(claimRepo.findStatusById(1L)).thenReturn(Optional.of(ClaimStatus.UNDER_REVIEW));
+        assertEquals(ClaimStatus.UNDER_REVIEW, service.getStatus(1L));
+    }
+
+    private static ClaimIdStatus idStatus(Long id, ClaimStatus status) {
+        return new ClaimIdStatus() {
+            public Long getId() { return id; }
+            public ClaimStatus getStatus() { return status; }
+        };
+    }
+
+    /* Backs findById / compareAndSetStatus with atomic rows, like the conditional UPDATE would */
+    private Map<Long, AtomicReference<ClaimStatus>> table(long total, ClaimStatus initial) {
+
+        Map<Long, AtomicReference<ClaimStatus>> rows = new ConcurrentHashMap<>();
+        for (long id = 1; id <= total; id++)
+            rows.put(id, new AtomicReference<>(initial));
+
+        when(claimRepo.findById(anyLong())).thenAnswer(inv -> {
+            Long id = inv.getArgument(0);
+            Claim claim = new Claim();
+            claim.setId(id);
+            claim.setStatus(rows.get(id).get());
+            return Optional.of(claim);
+        });
+        when(claimRepo.compareAndSetStatus(anyLong(), any(), any(), any())).thenAnswer(inv ->
+                rows.get(inv.<Long>getArgument(0))
+                        .compareAndSet(inv.getArgument(1), inv.getArgument(2)) ? 1 : 0);
+        return rows;
+    }
+
+    @Test
+    void updateStatus_retriesAfterLostRace() {
+
+        Claim stale = new Claim();
+        stale.setId(1L);
+        stale.setStatus(ClaimStatus.SUBMITTED);
+
+        when(claimRepo.findById(1L)).thenReturn(Optional.of(stale));
+        when(claimRepo.compareAndSetStatus(eq(1L), any(), any(), any())).thenReturn(0, 1);
+
+        Claim updated = service.updateStatus(1L, ClaimStatus.UNDER_REVIEW);
+
+        assertEquals(ClaimStatus.UNDER_REVIEW, updated.getStatus());
+        verify(claimRepo, times(2)).compareAndSetStatus(eq(1L), eq(ClaimStatus.SUBMITTED),
+                eq(ClaimStatus.UNDER_REVIEW), any());
+        verify(historyRepo, times(1)).save(any());
+        verify(eventRepo, times(1)).save(any());
+        verify(claimRepo, never()).save(any());
+    }
+
+    @Test
+    void updateStatus_givesUpAfterBoundedAttempts() {
+
+        Claim stale = new Claim();
+        stale.setId(1L);
+        stale.setStatus(ClaimStatus.SUBMITTED);
+
+        when(claimRepo.findById(1L)).thenReturn(Optional.of(stale));
+        when(claimRepo.compareAndSetStatus(eq(1L), any(), any(), any())).thenReturn(0);
+
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> service.updateStatus(1L, ClaimStatus.UNDER_REVIEW));
+        verify(claimRepo, times(ClaimWorkflowservice.MAX_TRANSITION_ATTEMPTS))
+                .compareAndSetStatus(anyLong(), any(), any(), any());
+        verify(historyRepo, never()).save(any());
+        verify(eventRepo, never()).save(any());
+    }
+
+    @Test
+    void updateStatus_underContention_appliesEachTransitionOnce() throws Exception {
+
+        int claims = 50;
+        int threads = 32;
+        int rounds = 200;
+
+        // Half the writers approve, half reject: exactly one decision per claim may win
+        Map<Long, AtomicReference<ClaimStatus>> rows = table(claims, ClaimStatus.UNDER_REVIEW);
+
+        AtomicInteger applied = new AtomicInteger();
+        AtomicInteger refused = new AtomicInteger();
+        when(historyRepo.save(any())).thenAnswer(inv -> {
+            applied.incrementAndGet();
+            return inv.getArgument(0);
+        });
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> done = new ArrayList<>();
+
+        for (int t = 0; t < threads; t++) {
+            ClaimStatus target = t % 2 == 0 ? ClaimStatus.APPROVED : ClaimStatus.REJECTED;
+            int seed = t;
+            done.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < rounds; i++) {
+                    long id = 1 + (seed + i) % claims;
+                    try {
+                        service.updateStatus(id, target);
+                    } catch (InvalidTransitionException | OptimisticLockingFailureException e) {
+                        refused.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> f : done)
+            f.get(30, TimeUnit.SECONDS);
+        pool.shutdown();
+
+        assertEquals(claims, applied.get());
+        assertEquals(threads * rounds - claims, refused.get());
+        rows.values().forEach(r -> assertNotEquals(ClaimStatus.UNDER_REVIEW, r.get()));
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.ClaimPolicyNumber;
+import com.example.demo.repository.ClaimRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class PolicyNumberIndexTest {
+
+    private static String policy(long id) {
+        return String.format("POL-%04d-%07d", 2000 + id % 25, id);
+    }
+
+    private static ClaimPolicyNumber row(long id, String policyNumber) {
+        return new ClaimPolicyNumber() {
+            public Long getId() { return id; }
+            public String getPolicyNumber() { return policyNumber; }
+        };
+    }
+
+    /* Repository that answers the tail query over ids 1..total */
+    private static ClaimRepository repository(long total) {
+        ClaimRepository repo = mock(ClaimRepository.class);
+        when(repo.findByIdGreaterThanOrderByIdAsc(anyLong(), any(Pageable.class))).thenAnswer(inv -> {
+            long after = inv.getArgument(0);
+            int limit = inv.<Pageable>getArgument(1).getPageSize();
+            return LongStream.rangeClosed(after + 1, Math.min(total, after + limit))
+                    .mapToObj(id -> row(id, policy(id)))
+                    .toList();
+        });
+        when(repo.findMaxId()).thenReturn(Optional.of(total));
+        return repo;
+    }
+
+    @Test
+    void search_matchesSubstringCaseInsensitively() {
+
+        PolicyNumberIndex index = new PolicyNumberIndex(repository(1000));
+        index.load();
+
+        assertTrue(index.isReady());
+        assertEquals(List.of(123L), index.search("0000123"));
+        assertEquals(List.of(123L), index.search("pol-2023-0000123"));
+        assertEquals(40, index.search("-2005-").size());
+        assertTrue(index.search("XYZ").isEmpty());
+
+        // Shorter than a trigram still works
+        assertEquals(1000, index.search("-").size());
+    }
+
+    @Test
+    void load_indexesEverythingBelowHistoricalHoles_beforeGoingReady() {
+
+        // Rolled-back inserts left ids 2 and 4 unused long before startup
+        TreeMap<Long, ClaimPolicyNumber> table = new TreeMap<>(Map.of(
+                1L, row(1, "H-1"), 3L, row(3, "H-3"), 5L, row(5, "H-5")));
+
+        ClaimRepository repo = mock(ClaimRepository.class);
+        when(repo.findMaxId()).thenReturn(Optional.of(5L));
+        when(repo.findByIdGreaterThanOrderByIdAsc(anyLong(), any(Pageable.class)))
+                .thenAnswer(inv -> List.copyOf(table.tailMap(inv.<Long>getArgument(0), false).values()));
+
+        PolicyNumberIndex index = new PolicyNumberIndex(repo);
+        assertFalse(index.isReady());
+
+        index.load();
+
+        assertTrue(index.isReady());
+        assertEquals(List.of(1L, 3L, 5L), index.search("h-"));
+    }
+
+    @Test
+    void add_isIdempotentAndVisibleImmediately() {
+
+        PolicyNumberIndex index = new PolicyNumberIndex(repository(10));
+        index.load();
+
+        index.add(11, "ABC-NEW-1");
+        index.add(11, "ABC-NEW-1");
+
+        assertEquals(List.of(11L), index.search("new-1"));
+        assertEquals(11, index.size());
+    }
+
+    @Test
+    void tail_indexesPastHole_andPicksUpLateCommit() {
+
+        TreeMap<Long, ClaimPolicyNumber> table = new TreeMap<>(Map.of(1L, row(1, "A-1"), 3L, row(3, "A-3")));
+
+        ClaimRepository repo = mock(ClaimRepository.class);
+        when(repo.findByIdGreaterThanOrderByIdAsc(anyLong(), any(Pageable.class)))
+                .thenAnswer(inv -> List.copyOf(table.tailMap(inv.<Long>getArgument(0), false).values()));
+        when(repo.findByIdIn(anyCollection())).thenAnswer(inv -> inv.<Collection<Long>>getArgument(0).stream()
+                .map(table::get).filter(Objects::nonNull).toList());
+
+        PolicyNumberIndex index = new PolicyNumberIndex(repo);
+
+        index.catchUp(1_000);
+        assertEquals(List.of(1L, 3L), index.search("a-"));
+
+        // Id 2 was still open and commits after 3
+        table.put(2L, row(2, "A-2"));
+        index.catchUp(20_000);
+        assertEquals(List.of(1L, 2L, 3L), index.search("a-"));
+    }
+
+    // Timing only, printed for comparison; run with -Pbenchmark
+    @Test
+    @Tag("benchmark")
+    void benchmark_millionClaims() {
+
+        int total = 1_000_000;
+        PolicyNumberIndex index = new PolicyNumberIndex(repository(total));
+
+        long buildStart = System.nanoTime();
+        index.load();
+        long buildMs = (System.nanoTime() - buildStart) / 1_000_000;
+
+        // Same data as a plain column, scanned the way LIKE '%x%' has to
+        List<String> column = new ArrayList<>(total);
+        for (long id = 1; id <= total; id++)
+            column.add(policy(id).toLowerCase(Locale.ROOT));
+
+        String[] queries = {"0424242", "-2017-09", "2003-00012", "0999999"};
+        int rounds = 20;
+
+        long indexNanos = 0, scanNanos = 0;
+        for (int r = 0; r < rounds; r++) {
+            for (String q : queries) {
+
+                long t0 = System.nanoTime();
+                List<Long> hits = index.search(q);
+                long t1 = System.nanoTime();
+
+                String needle = q.toLowerCase(Locale.ROOT);
+                int scanned = 0;
+                for (String p : column)
+                    if (p.contains(needle))
+                        scanned++;
+                long t2 = System.nanoTime();
+
+                assertEquals(scanned, hits.size());
+                indexNanos += t1 - t0;
+                scanNanos += t2 - t1;
+            }
+        }
+
+        long lookups = (long) rounds * queries.length;
+        System.out.printf("policy index, 1M claims: build %d ms, lookup avg %.3f ms, full scan avg %.3f ms%n",
+                buildMs, indexNanos / 1e6 / lookups, scanNanos / 1e6 / lookups);
+    }
+}
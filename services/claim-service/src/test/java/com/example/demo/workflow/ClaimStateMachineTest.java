@@ -0,0 +1,132 @@
+package com.example.demo.workflow;
+
+import com.example.demo.entity.Claim;
+import com.example.demo.entity.ClaimStatus;
+import com.example.demo.exception.InvalidTransitionException;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.EnumSet;
+
+import static com.example.demo.entity.ClaimStatus.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClaimStateMachineTest {
+
+    private static final ClaimStateMachine MACHINE = ClaimStateMachine.CLAIMS;
+
+    @Test
+    void table_matchesTheOriginalSwitch() {
+
+        for (ClaimStatus from : ClaimStatus.values())
+            for (ClaimStatus to : ClaimStatus.values())
+                assertEquals(switchTransition(from, to), MACHINE.canTransition(from, to), from + " → " + to);
+
+        assertFalse(MACHINE.canTransition(null, SUBMITTED));
+        assertFalse(MACHINE.canTransition(SUBMITTED, null));
+        assertTrue(MACHINE.isTerminal(REJECTED));
+        assertTrue(MACHINE.isTerminal(SETTLED));
+        assertFalse(MACHINE.isTerminal(null));
+        assertTrue(MACHINE.targetsOf(null).isEmpty());
+        assertTrue(MACHINE.sourcesOf(null).isEmpty());
+    }
+
+    @Test
+    void sourcesOf_answersWhoCanReachATarget() {
+
+        assertEquals(EnumSet.of(UNDER_REVIEW), MACHINE.sourcesOf(APPROVED));
+        assertEquals(EnumSet.of(APPROVED), MACHINE.sourcesOf(SETTLED));
+        assertTrue(MACHINE.sourcesOf(SUBMITTED).isEmpty());
+    }
+
+    @Test
+    void transition_movesOnlyAlongTheTable() {
+
+        Claim claim = claim(UNDER_REVIEW);
+        assertThrows(InvalidTransitionException.class, () -> MACHINE.transition(claim, SETTLED));
+        assertEquals(UNDER_REVIEW, claim.getStatus());
+
+        assertEquals(UNDER_REVIEW, MACHINE.transition(claim, APPROVED));
+        assertEquals(APPROVED, claim.getStatus());
+
+        assertThrows(InvalidTransitionException.class, () -> MACHINE.check(claim(null), SUBMITTED));
+    }
+
+    // Timing and allocation only, printed for comparison; run with -Pbenchmark
+    @Test
+    @Tag("benchmark")
+    void benchmark_canTransitionAgainstTheSwitch() {
+
+        ClaimStatus[] states = ClaimStatus.values();
+        int rounds = 2_000_000;
+
+        // Warm both paths up before measuring
+        for (int i = 0; i < 5; i++) {
+            runTable(states, rounds);
+            runSwitch(states, rounds);
+        }
+
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+
+        long allocBefore = threads.getThreadAllocatedBytes(thread);
+        long t0 = System.nanoTime();
+        int tableHits = runTable(states, rounds);
+        long tableNanos = System.nanoTime() - t0;
+        long allocated = threads.getThreadAllocatedBytes(thread) - allocBefore;
+
+        t0 = System.nanoTime();
+        int switchHits = runSwitch(states, rounds);
+        long switchNanos = System.nanoTime() - t0;
+
+        System.out.printf("canTransition x%d: table %d ms, switch %d ms, allocated %d bytes%n",
+                rounds * states.length * states.length,
+                tableNanos / 1_000_000, switchNanos / 1_000_000, allocated);
+
+        assertEquals(switchHits, tableHits);
+    }
+
+    private static int runTable(ClaimStatus[] states, int rounds) {
+        int hits = 0;
+        for (int r = 0; r < rounds; r++)
+            for (ClaimStatus from : states)
+                for (ClaimStatus to : states)
+                    if (MACHINE.canTransition(from, to))
+                        hits++;
+        return hits;
+    }
+
+    private static int runSwitch(ClaimStatus[] states, int rounds) {
+        int hits = 0;
+        for (int r = 0; r < rounds; r++)
+            for (ClaimStatus from : states)
+                for (ClaimStatus to : states)
+                    if (switchTransition(from, to))
+                        hits++;
+        return hits;
+    }
+
+    // The validator as it was before the table, kept as the reference
+    private static boolean switchTransition(ClaimStatus current, ClaimStatus next) {
+        if (current == null || next == null)
+            return false;
+        switch (current) {
+            case SUBMITTED:
+                return next == UNDER_REVIEW;
+            case UNDER_REVIEW:
+                return next == APPROVED || next == REJECTED;
+            case APPROVED:
+                return next == SETTLED;
+            default:
+                return false;
+        }
+    }
+
+    private static Claim claim(ClaimStatus status) {
+        Claim claim = new Claim();
+        claim.setStatus(status);
+        return claim;
+    }
+}
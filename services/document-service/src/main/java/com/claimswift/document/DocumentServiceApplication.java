@@ -4,11 +4,13 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 import com.claimswift.document.config.FileStorageProperties;
 
 @SpringBootApplication
 @EnableFeignClients
+@EnableScheduling
 @EnableConfigurationProperties(FileStorageProperties.class)
 
 public class DocumentServiceApplication {
@@ -0,0 +1,13 @@
+package com.claimswift.document.client;
+
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.GetMapping;
+
+import com.claimswift.document.dto.JwkSetResponse;
+
+@FeignClient(name = "auth-service", url = "${services.auth-service.url}")
+public interface AuthClient {
+
+    @GetMapping("/auth/.well-known/jwks.json")
+    JwkSetResponse jwks();
+}
@@ -4,10 +4,14 @@ import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.*;
 
 import com.claimswift.document.dto.ClaimValidationResponse;
+import com.claimswift.document.dto.ClaimWorkflowDefinition;
 
 @FeignClient(name = "claim-service", url = "${services.claim-service.url}")
 public interface ClaimClient {
 
     @GetMapping("/api/v1/claims/{id}/validate")
     ClaimValidationResponse validateClaim(@PathVariable Long id);
+
+    @GetMapping("/claims/workflow")
+    ClaimWorkflowDefinition workflow();
 }
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.claimswift.document.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.Data;
+
+@Data
+public class ClaimWorkflowDefinition {
+    private String initial;
+    private Map<String, List<String>> transitions;
+    private List<String> terminal;
+}
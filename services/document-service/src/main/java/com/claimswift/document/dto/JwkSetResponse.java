@@ -0,0 +1,19 @@
+package com.claimswift.document.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class JwkSetResponse {
+
+    private List<Key> keys;
+
+    @Data
+    public static class Key {
+        private String kty;
+        private String kid;
+        private String n;
+        private String e;
+    }
+}
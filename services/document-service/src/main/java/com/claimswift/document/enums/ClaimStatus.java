@@ -5,5 +5,5 @@ public enum ClaimStatus {
     UNDER_REVIEW,
     APPROVED,
     REJECTED,
-    PAID
+    SETTLED
 }
\ No newline at end of file
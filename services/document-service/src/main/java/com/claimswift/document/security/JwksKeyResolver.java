@@ -0,0 +1,79 @@
+package com.claimswift.document.security;
+
+import com.claimswift.document.client.AuthClient;
+import com.claimswift.document.dto.JwkSetResponse;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigInteger;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Resolves the verification key for a token from auth-service's JWKS.
+ * Only the scheduler talks to auth-service; request threads read the
+ * last fetched map and reject unknown kids.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JwksKeyResolver extends SigningKeyResolverAdapter {
+
+    private final AuthClient authClient;
+
+    @Value("${jwt.jwks.refresh-interval-ms:300000}")
+    private long refreshIntervalMs;
+
+    private volatile Map<String, PublicKey> keys = Map.of();
+    private volatile long lastRefreshAt;
+
+    @Scheduled(fixedDelayString = "${jwt.jwks.poll-interval-ms:10000}")
+    public void tick() {
+        if (keys.isEmpty() || System.currentTimeMillis() - lastRefreshAt >= refreshIntervalMs)
+            refresh();
+    }
+
+    private void refresh() {
+        try {
+            JwkSetResponse set = authClient.jwks();
+            if (set == null || set.getKeys() == null)
+                return;
+
+            Map<String, PublicKey> loaded = new HashMap<>();
+            for (JwkSetResponse.Key jwk : set.getKeys()) {
+                if ("RSA".equals(jwk.getKty()))
+                    loaded.put(jwk.getKid(), toPublicKey(jwk.getN(), jwk.getE()));
+            }
+
+            keys = Map.copyOf(loaded);
+            lastRefreshAt = System.currentTimeMillis();
+
+        } catch (Exception e) {
+            log.warn("Could not refresh JWKS: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+        String kid = header.getKeyId();
+        return kid == null ? null : keys.get(kid);
+    }
+
+    private static PublicKey toPublicKey(String n, String e) throws Exception {
+        Base64.Decoder b64 = Base64.getUrlDecoder();
+        return KeyFactory.getInstance("RSA").generatePublic(new RSAPublicKeySpec(
+                new BigInteger(1, b64.decode(n)),
+                new BigInteger(1, b64.decode(e))));
+    }
+}
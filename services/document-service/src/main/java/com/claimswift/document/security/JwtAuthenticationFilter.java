@@ -4,6 +4,7 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -35,10 +36,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
                 String token = authHeader.substring(7);
 
-                if (jwtUtil.isTokenValid(token)) {
-                    String username = jwtUtil.extractUsername(token);
+                // Parse once; invalid or expired tokens throw and are handled below
+                Claims claims = jwtUtil.extractAllClaims(token);
+
+                if (claims != null) {
+                    String username = claims.getSubject();
                     
-                    List<SimpleGrantedAuthority> authorities = jwtUtil.extractRoles(token)
+                    List<SimpleGrantedAuthority> authorities = jwtUtil.extractRoles(claims)
                             .stream()
                             .map(r -> new SimpleGrantedAuthority("ROLE_" + r))
                             .toList();
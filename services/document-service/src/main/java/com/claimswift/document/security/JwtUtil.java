@@ -1,28 +1,25 @@
 package com.claimswift.document.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
-import io.jsonwebtoken.SignatureAlgorithm;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.security.Key;
 import java.util.List;
 
 @Component
 public class JwtUtil {
 
-    private final Key signingKey;
+    private final JwtParser parser;
 
-    public JwtUtil(@Value("${jwt.secret}") String secret) {
-        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+    public JwtUtil(JwksKeyResolver keys) {
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(keys)
+                .build();
     }
 
     public Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(signingKey)
-                .build()
+        return parser
                 .parseClaimsJws(token)
                 .getBody();
     }
@@ -32,8 +29,13 @@ public class JwtUtil {
     }
 
     public List<String> extractRoles(String token) {
-        Claims claims = extractAllClaims(token);
-        return claims.get("roles", List.class);
+        return extractRoles(extractAllClaims(token));
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<String> extractRoles(Claims claims) {
+        List<String> roles = claims.get("roles", List.class);
+        return roles == null ? List.of() : roles;
     }
 
     public boolean isTokenExpired(String token) {
@@ -50,12 +52,4 @@ public class JwtUtil {
             return false;
         }
     }
-
-    public String generateToken(String username, List<String> roles) {
-        return Jwts.builder()
-                .setSubject(username)
-                .claim("roles", roles)
-                .signWith(signingKey, SignatureAlgorithm.HS256)
-                .compact();
-    }
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.claimswift.document.service;
 
 import com.claimswift.document.client.ClaimClient;
+import com.claimswift.document.client.ClaimWorkflowRules;
 import com.claimswift.document.dto.ClaimValidationResponse;
 import com.claimswift.document.dto.DocumentResponseDTO;
 import com.claimswift.document.entity.Document;
@@ -31,6 +32,7 @@ public class DocumentServiceImpl implements DocumentService {
     private final DocumentAuditRepository auditRepository;
     private final FileStorageService fileStorageService;
     private final ClaimClient claimClient;
+    private final ClaimWorkflowRules workflowRules;
 
     // ===============================
     // SOFT DELETE
@@ -81,8 +83,8 @@ public class DocumentServiceImpl implements DocumentService {
             throw new IllegalStateException("Claim does not exist");
         }
 
-        if ("REJECTED".equals(response.getStatus()) ||
-            "PAID".equals(response.getStatus())) {
+        // Closed claims (REJECTED, SETTLED) take no more documents
+        if (workflowRules.isTerminal(response.getStatus())) {
 
             throw new IllegalStateException(
                 "Cannot upload document for this claim status");
@@ -0,0 +1,69 @@
+package com.claimswift.notification.security;
+
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.URL;
+import java.security.Key;
+import java.security.PublicKey;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * kid -> public key map for {@link JwtService}, loaded from auth-service's
+ * JWKS by the scheduler so that request threads never block on HTTP.
+ */
+@Slf4j
+@Component
+public class JwksKeyResolver extends SigningKeyResolverAdapter {
+
+    private final String jwksUrl;
+    private final long refreshIntervalMs;
+
+    private volatile Map<String, PublicKey> keys = Map.of();
+    private volatile long lastRefreshAt;
+
+    public JwksKeyResolver(@Value("${jwt.jwks-url}") String jwksUrl,
+                           @Value("${jwt.jwks-refresh-interval-ms:300000}") long refreshIntervalMs) {
+        this.jwksUrl = jwksUrl;
+        this.refreshIntervalMs = refreshIntervalMs;
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.jwks-poll-interval-ms:10000}")
+    public void tick() {
+        if (keys.isEmpty() || System.currentTimeMillis() - lastRefreshAt >= refreshIntervalMs)
+            refresh();
+    }
+
+    private void refresh() {
+        try {
+            JWKSet set = JWKSet.load(new URL(jwksUrl), 2000, 2000, 64 * 1024);
+
+            Map<String, PublicKey> loaded = new HashMap<>();
+            for (JWK jwk : set.getKeys()) {
+                if (jwk instanceof RSAKey rsa)
+                    loaded.put(rsa.getKeyID(), rsa.toRSAPublicKey());
+            }
+
+            keys = Map.copyOf(loaded);
+            lastRefreshAt = System.currentTimeMillis();
+
+        } catch (Exception e) {
+            log.warn("JWKS refresh from {} failed: {}", jwksUrl, e.getMessage());
+        }
+    }
+
+    @Override
+    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+        String kid = header.getKeyId();
+        return kid == null ? null : keys.get(kid);
+    }
+}
@@ -2,7 +2,6 @@ package com.claimswift.notification.security;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.security.Key;
@@ -11,17 +10,20 @@ import java.util.Date;
 @Service
 public class JwtService {
 
-    @Value("${jwt.secret}")
-    private String secret;
-
-    @Value("${jwt.expiration}")
-    private long expiration;
-    
     private static final String SECRET =
             "mysecretkeymysecretkeymysecretkey12345";
 
     private final Key key = Keys.hmacShaKeyFor(SECRET.getBytes());
 
+    /* Parser is built once; keys are picked per token by kid from auth-service's JWKS */
+    private final JwtParser parser;
+
+    public JwtService(JwksKeyResolver keys) {
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(keys)
+                .build();
+    }
+
     public String generateToken(String username) {
 
         return Jwts.builder()
@@ -32,10 +34,6 @@ public class JwtService {
                 .compact();
     }
 
-    private Key getSignKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
-    }
-
     public String extractUsername(String token) {
         return getClaims(token).getSubject();
     }
@@ -45,18 +43,20 @@ public class JwtService {
     }
 
     public boolean validateToken(String token) {
+        return parseClaims(token) != null;
+    }
+
+    /* Returns null instead of throwing so a filter can parse exactly once */
+    public Claims parseClaims(String token) {
         try {
-            getClaims(token);
-            return true;
+            return getClaims(token);
         } catch (JwtException | IllegalArgumentException e) {
-            return false;
+            return null;
         }
     }
 
     private Claims getClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSignKey())
-                .build()
+        return parser
                 .parseClaimsJws(token)
                 .getBody();
     }
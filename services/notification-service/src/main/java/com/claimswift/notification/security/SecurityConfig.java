@@ -1,8 +1,5 @@
 package com.claimswift.notification.security;
 
-import javax.crypto.SecretKey;
-import javax.crypto.spec.SecretKeySpec;
-import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 import org.springframework.context.annotation.Bean;
@@ -10,7 +7,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
-import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.web.SecurityFilterChain;
@@ -22,10 +19,10 @@ import org.springframework.beans.factory.annotation.Value;
 @EnableMethodSecurity
 public class SecurityConfig {
 
-    private final String secret;
+    private final String jwksUrl;
 
-    public SecurityConfig(@Value("${jwt.secret}") String secret) {
-        this.secret = secret;
+    public SecurityConfig(@Value("${jwt.jwks-url}") String jwksUrl) {
+        this.jwksUrl = jwksUrl;
     }
 
     @Bean
@@ -51,14 +48,10 @@ public class SecurityConfig {
     @Bean
     public JwtDecoder jwtDecoder() {
 
-        SecretKey key = new SecretKeySpec(
-                secret.getBytes(StandardCharsets.UTF_8),
-                "HmacSHA256"
-        );
-
+        // Nimbus caches the key set and only refetches it for an unknown kid
         return NimbusJwtDecoder
-                .withSecretKey(key)
-                .macAlgorithm(MacAlgorithm.HS256)
+                .withJwkSetUri(jwksUrl)
+                .jwsAlgorithm(SignatureAlgorithm.RS256)
                 .build();
     }
 
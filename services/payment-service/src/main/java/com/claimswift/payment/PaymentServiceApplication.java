@@ -3,6 +3,7 @@ package com.claimswift.payment;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Payment Service Application
@@ -12,11 +13,12 @@ import org.springframework.cloud.openfeign.EnableFeignClients;
  * This service handles payment processing for approved insurance claims
  * 
  * Integration Points:
- * - Claim Service: To verify claim status and update to PAID
+ * - Claim Service: To verify claim status and update to SETTLED
  * - Notification Service: To send payment notifications
  */
 @SpringBootApplication
 @EnableFeignClients(basePackages = "com.claimswift.payment.client")
+@EnableScheduling
 public class PaymentServiceApplication {
 
     public static void main(String[] args) {
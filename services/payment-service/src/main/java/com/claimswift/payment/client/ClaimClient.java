@@ -3,6 +3,7 @@ package com.claimswift.payment.client;
 import com.claimswift.payment.dto.ApiResponse;
 import com.claimswift.payment.dto.ClaimResponse;
 import com.claimswift.payment.dto.ClaimStatusUpdateRequest;
+import com.claimswift.payment.dto.ClaimWorkflowDefinition;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -14,7 +15,8 @@ import org.springframework.web.bind.annotation.*;
  * 
  * Integration Rules:
  * - Fetch claim details to verify status = APPROVED
- * - Update claim status to PAID after successful payment
+ * - Update claim status to SETTLED after successful payment
+ * - Read the claim workflow so status checks follow Claim Service's table
  */
 @FeignClient(name = "claim-service", url = "${services.claim-service.url:http://localhost:8081}")
 public interface ClaimClient {
@@ -39,4 +41,12 @@ public interface ClaimClient {
     ResponseEntity<ApiResponse<ClaimResponse>> updateClaimStatus(
             @PathVariable("claimId") Long claimId,
             @RequestBody ClaimStatusUpdateRequest request);
+
+    /**
+     * Get the claim workflow definition
+     * 
+     * @return Allowed transitions per claim status
+     */
+    @GetMapping("/claims/workflow")
+    ResponseEntity<ClaimWorkflowDefinition> getWorkflow();
 }
@@ -37,7 +37,7 @@ public class PaymentController {
      * Integration Rule:
      * - Verifies claim status = APPROVED via Claim Service API
      * - Processes payment
-     * - Updates claim status to PAID after success
+     * - Updates claim status to SETTLED after success
      * 
      * @param request - Payment request with claim and amount details
      * @return Payment response with payment details
@@ -6,7 +6,7 @@ import lombok.*;
  * Claim Status Update Request DTO
  * 
  * Request body for updating claim status via Claim Service API
- * Used to change claim status to PAID after successful payment
+ * Used to change claim status to SETTLED after successful payment
  */
 @Data
 @NoArgsConstructor
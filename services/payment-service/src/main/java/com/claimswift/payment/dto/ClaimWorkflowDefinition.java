@@ -0,0 +1,22 @@
+package com.claimswift.payment.dto;
+
+import lombok.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Claim Workflow Definition DTO
+ * 
+ * The claim lifecycle as published by Claim Service (GET /claims/workflow)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ClaimWorkflowDefinition {
+
+    private String initial;
+    private Map<String, List<String>> transitions;
+    private List<String> terminal;
+}
@@ -1,6 +1,7 @@
 package com.claimswift.payment.service;
 
 import com.claimswift.payment.client.ClaimClient;
+import com.claimswift.payment.client.ClaimWorkflowRules;
 import com.claimswift.payment.client.NotificationClient;
 import com.claimswift.payment.dto.*;
 import com.claimswift.payment.entity.*;
@@ -22,8 +23,8 @@ import java.util.stream.Collectors;
  * Implements payment processing logic for approved claims
  * 
  * Integration Rules:
- * - Verifies claim status = APPROVED before processing payment
- * - Updates claim status to PAID after successful payment
+ * - Verifies the claim can move to SETTLED (i.e. is APPROVED) before processing payment
+ * - Updates claim status to SETTLED after successful payment
  * - Triggers notification after payment completion
  */
 @Service
@@ -36,9 +37,10 @@ public class PaymentServiceImpl implements PaymentService {
     private final AuditPaymentRepository auditPaymentRepository;
     private final ClaimClient claimClient;
     private final NotificationClient notificationClient;
+    private final ClaimWorkflowRules workflowRules;
 
-    private static final String CLAIM_STATUS_APPROVED = "APPROVED";
-    private static final String CLAIM_STATUS_PAID = "PAID";
+    // Claim Service has no PAID state; a paid claim is SETTLED
+    private static final String CLAIM_STATUS_SETTLED = "SETTLED";
     private static final String NOTIFICATION_TYPE_PAYMENT_SUCCESS = "PAYMENT_SUCCESS";
     private static final String NOTIFICATION_TYPE_PAYMENT_FAILED = "PAYMENT_FAILED";
 
@@ -86,8 +88,8 @@ public class PaymentServiceImpl implements PaymentService {
                 // Step 6: Create transaction record
                 createTransactionRecord(payment, true, null);
 
-                // Step 7: Update claim status to PAID
-                updateClaimStatus(payment.getClaimId(), CLAIM_STATUS_PAID);
+                // Step 7: Update claim status to SETTLED
+                updateClaimStatus(payment.getClaimId(), CLAIM_STATUS_SETTLED);
 
                 // Step 8: Send notification
                 sendNotification(claim.getPolicyholderId(), payment.getClaimId(),
@@ -163,7 +165,7 @@ public class PaymentServiceImpl implements PaymentService {
                 payment = paymentRepository.save(payment);
 
                 // Update claim status
-                updateClaimStatus(payment.getClaimId(), CLAIM_STATUS_PAID);
+                updateClaimStatus(payment.getClaimId(), CLAIM_STATUS_SETTLED);
 
                 log.info("Payment retry successful for payment ID: {}", paymentId);
             } else {
@@ -190,7 +192,7 @@ public class PaymentServiceImpl implements PaymentService {
 
             ClaimResponse claim = response.getBody().getData();
             
-            if (!CLAIM_STATUS_APPROVED.equals(claim.getStatus())) {
+            if (!workflowRules.canTransition(claim.getStatus(), CLAIM_STATUS_SETTLED)) {
                 throw new InvalidClaimStatusException(
                         "Claim status must be APPROVED for payment. Current status: " + claim.getStatus());
             }
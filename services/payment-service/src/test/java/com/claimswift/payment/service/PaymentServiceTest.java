@@ -1,6 +1,7 @@
 package com.claimswift.payment.service;
 
 import com.claimswift.payment.client.ClaimClient;
+import com.claimswift.payment.client.ClaimWorkflowRules;
 import com.claimswift.payment.client.NotificationClient;
 import com.claimswift.payment.dto.*;
 import com.claimswift.payment.entity.*;
@@ -47,6 +48,9 @@ class PaymentServiceTest {
     @Mock
     private NotificationClient notificationClient;
 
+    @Mock
+    private ClaimWorkflowRules workflowRules;
+
     @InjectMocks
     private PaymentServiceImpl paymentService;
 
@@ -94,6 +98,10 @@ class PaymentServiceTest {
                 .transactionStatus(TransactionStatus.COMPLETED)
                 .transactionTime(LocalDateTime.now())
                 .build();
+
+        // Same table as Claim Service: only APPROVED claims can be settled
+        lenient().when(workflowRules.canTransition(anyString(), eq("SETTLED")))
+                .thenAnswer(inv -> "APPROVED".equals(inv.getArgument(0)));
     }
 
     // =============================================
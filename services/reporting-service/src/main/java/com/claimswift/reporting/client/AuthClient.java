@@ -0,0 +1,14 @@
+package com.claimswift.reporting.client;
+
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.GetMapping;
+
+import com.claimswift.reporting.dto.JwkSetDTO;
+
+
+@FeignClient(name = "auth-service")
+public interface AuthClient {
+
+    @GetMapping("/auth/.well-known/jwks.json")
+    JwkSetDTO getJwks();
+}
@@ -0,0 +1,79 @@
+package com.claimswift.reporting.config;
+
+import java.math.BigInteger;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.claimswift.reporting.client.AuthClient;
+import com.claimswift.reporting.dto.JwkSetDTO;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+
+// Keeps auth-service's published keys in memory, refreshed by the scheduler only
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JwksKeyResolver extends SigningKeyResolverAdapter {
+
+    private final AuthClient authClient;
+
+    @Value("${jwt.jwks-refresh-interval-ms:300000}")
+    private long refreshIntervalMs;
+
+    private volatile Map<String, PublicKey> keys = Map.of();
+    private volatile long lastRefreshAt;
+
+    @Scheduled(fixedDelayString = "${jwt.jwks-poll-interval-ms:10000}")
+    public void tick() {
+        if (keys.isEmpty() || System.currentTimeMillis() - lastRefreshAt >= refreshIntervalMs)
+            refresh();
+    }
+
+    private void refresh() {
+        try {
+            JwkSetDTO set = authClient.getJwks();
+            if (set == null || set.getKeys() == null)
+                return;
+
+            Map<String, PublicKey> loaded = new HashMap<>();
+            for (JwkSetDTO.Key jwk : set.getKeys()) {
+                if ("RSA".equals(jwk.getKty()))
+                    loaded.put(jwk.getKid(), toPublicKey(jwk.getN(), jwk.getE()));
+            }
+
+            keys = Map.copyOf(loaded);
+            lastRefreshAt = System.currentTimeMillis();
+
+        } catch (Exception e) {
+            log.warn("JWKS refresh failed: {}", e.getMessage());
+        }
+    }
+
+    // Unknown kid -> null -> token rejected; no fetch on the request thread
+    @Override
+    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+        String kid = header.getKeyId();
+        return kid == null ? null : keys.get(kid);
+    }
+
+    private static PublicKey toPublicKey(String n, String e) throws Exception {
+        Base64.Decoder b64 = Base64.getUrlDecoder();
+        return KeyFactory.getInstance("RSA").generatePublic(new RSAPublicKeySpec(
+                new BigInteger(1, b64.decode(n)),
+                new BigInteger(1, b64.decode(e))));
+    }
+}
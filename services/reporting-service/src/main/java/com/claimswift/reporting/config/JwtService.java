@@ -1,23 +1,26 @@
 package com.claimswift.reporting.config;
 
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
 
 
 @Service
 public class JwtService {
 
-    @Value("${jwt.secret}")
-    private String secret;
+    // Parser is thread-safe, build it once; keys are resolved per token by kid
+    private final JwtParser parser;
+
+    public JwtService(JwksKeyResolver keys) {
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(keys)
+                .build();
+    }
 
     public String extractRole(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(Keys.hmacShaKeyFor(secret.getBytes()))
-                .build()
+        Claims claims = parser
                 .parseClaimsJws(token)
                 .getBody();
 
@@ -25,14 +28,16 @@ public class JwtService {
     }
 
     public boolean validateToken(String token) {
+        return parseClaims(token) != null;
+    }
+
+    public Claims parseClaims(String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(Keys.hmacShaKeyFor(secret.getBytes()))
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
+            return parser
+                    .parseClaimsJws(token)
+                    .getBody();
         } catch (Exception e) {
-            return false;
+            return null;
         }
     }
 }
\ No newline at end of file
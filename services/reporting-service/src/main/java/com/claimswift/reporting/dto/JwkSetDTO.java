@@ -0,0 +1,22 @@
+package com.claimswift.reporting.dto;
+
+import java.util.List;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class JwkSetDTO {
+
+    private List<Key> keys;
+
+    @Getter
+    @Setter
+    public static class Key {
+        private String kty;
+        private String kid;
+        private String n;
+        private String e;
+    }
+}